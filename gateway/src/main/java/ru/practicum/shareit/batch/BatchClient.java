@@ -0,0 +1,126 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+    Выполняет подзапросы пакета одновременно, отправляя их самому шлюзу по loopback-соединению: каждый проходит
+    те же фильтры (ограничение частоты), проверки контроллеров и ErrorHandler, что и отдельный запрос клиента,
+    а к серверу уходит через общий транспорт шлюза. Ожидание ответов не занимает потоков. Результаты
+    возвращаются в порядке подзапросов; не успевший за shareit-gateway.batch.timeout подзапрос получает 504.
+    Подзапросы помечаются заголовком SUB_REQUEST_HEADER, по нему BatchController отклоняет вложенные пакеты
+*/
+@Slf4j
+@Component
+public class BatchClient implements AutoCloseable {
+
+    static final String MSG_TIMEOUT = "Подзапрос не выполнен за %d мс";
+    static final String MSG_FAILED = "Подзапрос не выполнен: %s";
+    static final String MSG_INVALID_PATH = "Некорректный путь подзапроса: %s";
+    static final String SUB_REQUEST_HEADER = "X-Shareit-Batch-Subrequest";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public BatchClient(ObjectMapper objectMapper, @Value("${shareit-gateway.batch.timeout}") Duration timeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    public CompletableFuture<List<SubResponseDto>> execute(URI gateway, Long userId, List<SubRequestDto> subRequests) {
+        List<CompletableFuture<SubResponseDto>> calls = subRequests.stream()
+                .map(subRequest -> call(gateway, userId, subRequest))
+                .toList();
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> calls.stream().map(CompletableFuture::join).toList());
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    private CompletableFuture<SubResponseDto> call(URI gateway, Long userId, SubRequestDto subRequest) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(gateway + subRequest.getPath()))
+                    .timeout(timeout)
+                    .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header("X-Sharer-User-Id", String.valueOf(userId))
+                    .header(SUB_REQUEST_HEADER, "true")
+                    .method(subRequest.getMethod(), subRequest.getBody() != null && !subRequest.getBody().isNull()
+                            ? HttpRequest.BodyPublishers.ofByteArray(writeJson(subRequest.getBody()))
+                            : HttpRequest.BodyPublishers.noBody())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                    error(HttpStatus.BAD_REQUEST, String.format(MSG_INVALID_PATH, subRequest.getPath())));
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(response -> new SubResponseDto(response.statusCode(), readJson(response.body())))
+                .exceptionally(e -> failed(subRequest, e instanceof CompletionException ? e.getCause() : e));
+    }
+
+    private SubResponseDto failed(SubRequestDto subRequest, Throwable e) {
+        if (e instanceof TimeoutException || e instanceof HttpTimeoutException) {
+            log.warn("Подзапрос пакета не выполнен вовремя. method: {}, path: {}", subRequest.getMethod(), subRequest.getPath());
+            return error(HttpStatus.GATEWAY_TIMEOUT, String.format(MSG_TIMEOUT, timeout.toMillis()));
+        }
+        log.warn("Подзапрос пакета завершился ошибкой. method: {}, path: {}", subRequest.getMethod(), subRequest.getPath(), e);
+        return error(HttpStatus.BAD_GATEWAY, String.format(MSG_FAILED, e.getMessage()));
+    }
+
+    private SubResponseDto error(HttpStatus status, String message) {
+        return new SubResponseDto(status.value(), objectMapper.valueToTree(new ErrorResponse(message)));
+    }
+
+    private byte[] writeJson(JsonNode body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Не удалось сериализовать тело подзапроса", e);
+        }
+    }
+
+    private JsonNode readJson(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            return TextNode.valueOf(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+}
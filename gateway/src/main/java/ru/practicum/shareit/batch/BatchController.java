@@ -0,0 +1,64 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.validation.IdValid;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/batch")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class BatchController {
+
+    static final int MAX_BATCH_SIZE = 20;
+    static final String MSG_NESTED_BATCH = "Пакет не может выполняться как подзапрос другого пакета";
+
+    private final BatchClient client;
+
+    /*
+        Несколько запросов клиента за один обмен: подзапросы выполняются одновременно от имени того же
+        пользователя, ответ - массив {status, body} в порядке подзапросов. Ошибка подзапроса не прерывает
+        остальные и возвращается в его элементе. Вложенный пакет распознаётся по метке loopback-подзапроса,
+        а не по пути: путь можно записать в обход любой проверки (/./batch, /%62atch, /batch;x),
+        а метку клиент снять не может
+    */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Object>> executeBatch(
+            @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
+            @NotEmpty(message = "Пустой пакет запросов")
+            @Size(max = MAX_BATCH_SIZE, message = "В пакете не может быть больше " + MAX_BATCH_SIZE + " запросов")
+            @RequestBody List<@Valid SubRequestDto> subRequests,
+            HttpServletRequest request
+    ) {
+        log.info("executeBatch. userId: {}, count: {}", userId, subRequests.size());
+        if (request.getHeader(BatchClient.SUB_REQUEST_HEADER) != null) {
+            throw new ValidationException(MSG_NESTED_BATCH);
+        }
+        return client.execute(loopback(request), userId, subRequests)
+                .thenApply(ResponseEntity::<Object>ok);
+    }
+
+    private static URI loopback(HttpServletRequest request) {
+        String address = request.getLocalAddr();
+        String host = address.contains(":") ? "[" + address + "]" : address;
+        return URI.create(request.getScheme() + "://" + host + ":" + request.getLocalPort());
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Value;
+
+@Value
+public class SubRequestDto {
+    @NotNull(message = "Пустой метод подзапроса")
+    @Pattern(regexp = "GET|POST|PATCH|DELETE", message = "Метод подзапроса должен быть GET, POST, PATCH или DELETE")
+    String method;
+
+    @NotNull(message = "Пустой путь подзапроса")
+    @Pattern(regexp = "/(?!/|batch(?:[/?]|$))\\S*",
+            message = "Путь подзапроса должен начинаться с / и не может указывать на /batch")
+    String path;
+
+    JsonNode body;
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Value;
+
+@Value
+public class SubResponseDto {
+    int status;
+    JsonNode body;
+}
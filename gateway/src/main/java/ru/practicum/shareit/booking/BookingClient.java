@@ -1,34 +1,40 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.DownstreamGuards;
+import ru.practicum.shareit.client.ServerExchange;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingClient extends BaseClient {
 
     private static final String API_PREFIX = "/bookings";
+    private static final String DOWNSTREAM = "bookings";
 
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build());
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ServerExchange exchange, DownstreamGuards guards) {
+        super(serverUrl + API_PREFIX, builder, exchange, guards.forDownstream(DOWNSTREAM));
     }
 
-    public ResponseEntity<Object> createBooking(Long userId, NewBookingDto newBookingDto) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(Long userId, NewBookingDto newBookingDto) {
         return post("", userId, newBookingDto);
     }
 
-    public ResponseEntity<Object> approveBooking(Long ownerId, Long bookingId, boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> approveBooking(Long ownerId, Long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "bookingId", bookingId,
                 "approved", approved
@@ -37,7 +43,11 @@ public class BookingClient extends BaseClient {
         return patch("/{bookingId}?approved={approved}", ownerId, parameters, null);
     }
 
-    public ResponseEntity<Object> get(Long userId, Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> approveBookings(Long ownerId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", ownerId, decisions);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, Long bookingId) {
         Map<String, Object> parameters = Map.of(
                 "bookingId", bookingId
         );
@@ -45,19 +55,41 @@ public class BookingClient extends BaseClient {
         return get("/{bookingId}", userId, parameters);
     }
 
-    public ResponseEntity<Object> byBooker(Long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
+    public CompletableFuture<ResponseEntity<Object>> byBooker(Long userId, BookingState state, Integer limit, String cursor) {
+        Map<String, Object> parameters = pageParameters(state, limit, cursor);
 
-        return get("?state={state}", userId, parameters);
+        return get("?" + toQuery(parameters), userId, parameters);
     }
 
-    public ResponseEntity<Object> byOwner(Long ownerId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
+    public CompletableFuture<ResponseEntity<Object>> byOwner(Long ownerId, BookingState state, Integer limit, String cursor) {
+        Map<String, Object> parameters = pageParameters(state, limit, cursor);
+
+        return get("/owner?" + toQuery(parameters), ownerId, parameters);
+    }
+
+    public void streamByBooker(Long userId, BookingState state, HttpServletResponse response) throws IOException {
+        stream("?state={state}", userId, Map.of("state", state.name()), response);
+    }
+
+    public void streamByOwner(Long ownerId, BookingState state, HttpServletResponse response) throws IOException {
+        stream("/owner?state={state}", ownerId, Map.of("state", state.name()), response);
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer limit, String cursor) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("state", state.name());
+        if (limit != null) {
+            parameters.put("limit", limit);
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
 
-        return get("/owner?state={state}", ownerId, parameters);
+    private static String toQuery(Map<String, Object> parameters) {
+        return parameters.keySet().stream()
+                .map(name -> name + "={" + name + "}")
+                .collect(Collectors.joining("&"));
     }
 }
@@ -1,15 +1,26 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.validation.IdValid;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
@@ -17,10 +28,13 @@ import ru.practicum.shareit.validation.IdValid;
 @Validated
 public class BookingController {
 
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int MAX_DECISIONS = 100;
+
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(
+    public CompletableFuture<ResponseEntity<Object>> createBooking(
             @IdValid("userId") @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody NewBookingDto newBookingDto
     ) {
@@ -29,7 +43,7 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(
+    public CompletableFuture<ResponseEntity<Object>> approveBooking(
             @IdValid("userId") @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @PathVariable Long bookingId,
             @RequestParam boolean approved
@@ -38,8 +52,19 @@ public class BookingController {
         return bookingClient.approveBooking(ownerId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public CompletableFuture<ResponseEntity<Object>> approveBookings(
+            @IdValid("userId") @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @NotEmpty(message = "Пустой список решений")
+            @Size(max = MAX_DECISIONS, message = "За один запрос можно принять не больше " + MAX_DECISIONS + " решений")
+            @RequestBody List<@Valid BookingDecisionDto> decisions
+    ) {
+        log.info("approveBookings. ownerId: {}, count: {}", ownerId, decisions.size());
+        return bookingClient.approveBookings(ownerId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(
+    public CompletableFuture<ResponseEntity<Object>> getBooking(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long bookingId
     ) {
@@ -48,20 +73,48 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByBooker(
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByBooker(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(value = "state", defaultValue = "ALL") BookingState state
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+            @Positive(message = "limit должен быть положительным")
+            @Max(value = MAX_PAGE_LIMIT, message = "limit не может быть больше " + MAX_PAGE_LIMIT)
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        log.info("getBookingsByBooker. userId: {}, state: {}", userId, state);
-        return bookingClient.byBooker(userId, state);
+        log.info("getBookingsByBooker. userId: {}, state: {}, limit: {}, cursor: {}", userId, state, limit, cursor);
+        return bookingClient.byBooker(userId, state, limit, cursor);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamBookingsByBooker(
+            @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("streamBookingsByBooker. userId: {}, state: {}", userId, state);
+        bookingClient.streamByBooker(userId, state, response);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwner(
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByOwner(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long ownerId,
-            @RequestParam(value = "state", defaultValue = "ALL") BookingState state
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+            @Positive(message = "limit должен быть положительным")
+            @Max(value = MAX_PAGE_LIMIT, message = "limit не может быть больше " + MAX_PAGE_LIMIT)
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        log.info("getBookingsByOwner. ownerId: {}, state: {}", ownerId, state);
-        return bookingClient.byOwner(ownerId, state);
+        log.info("getBookingsByOwner. ownerId: {}, state: {}, limit: {}, cursor: {}", ownerId, state, limit, cursor);
+        return bookingClient.byOwner(ownerId, state, limit, cursor);
+    }
+
+    @GetMapping(value = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamBookingsByOwner(
+            @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("streamBookingsByOwner. ownerId: {}, state: {}", ownerId, state);
+        bookingClient.streamByOwner(ownerId, state, response);
     }
 }
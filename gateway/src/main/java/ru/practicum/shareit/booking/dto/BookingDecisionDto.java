@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Value;
+
+@Value
+public class BookingDecisionDto {
+    @NotNull(message = "Не указан ID бронирования")
+    @Positive(message = "ID бронирования должен быть положительным")
+    Long bookingId;
+
+    @NotNull(message = "Не указано решение по бронированию")
+    Boolean approved;
+}
@@ -1,98 +1,213 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import org.springframework.http.HttpEntity;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final ServerExchange exchange;
+    private final DownstreamGuard guard;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(String baseUrl, RestTemplateBuilder builder, ServerExchange exchange, DownstreamGuard guard) {
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(baseUrl);
+        this.rest = builder
+                .uriTemplateHandler(uriBuilderFactory)
+                .build();
+        this.exchange = exchange;
+        this.guard = guard;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    /*
+        Проксирует NDJSON-выдачу сервера в ответ шлюза по мере получения байтов, без десериализации
+        и без буферизации всего тела в памяти
+    */
+    protected void stream(String path, Long userId, @Nullable Map<String, Object> parameters,
+                          HttpServletResponse response) throws IOException {
+        guard.run(() -> exchangeStreaming(HttpMethod.GET, path, userId, parameters, null, response));
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+    /*
+        Передаёт NDJSON-тело запроса на сервер по мере чтения и так же потоком возвращает ответ сервера:
+        ни вход, ни выход целиком в памяти шлюза не собираются
+    */
+    protected void streamUpload(String path, Long userId, InputStream body,
+                                HttpServletResponse response) throws IOException {
+        guard.run(() -> exchangeStreaming(HttpMethod.POST, path, userId, null, body, response));
+    }
+
+    private HttpStatusCode exchangeStreaming(HttpMethod method, String path, Long userId,
+                                             @Nullable Map<String, Object> parameters, @Nullable InputStream body,
+                                             HttpServletResponse response) throws IOException {
+        RequestCallback requestCallback = request -> {
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+            if (userId != null) {
+                request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
             }
+            if (body != null) {
+                request.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+                if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+                    streamingRequest.setBody(out -> copyFromClient(body, out));
+                } else {
+                    copyFromClient(body, request.getBody());
+                }
+            }
+        };
+        ResponseExtractor<HttpStatusCode> responseExtractor = shareitServerResponse -> {
+            response.setStatus(shareitServerResponse.getStatusCode().value());
+            MediaType contentType = shareitServerResponse.getHeaders().getContentType();
+            if (contentType != null) {
+                response.setContentType(contentType.toString());
+            }
+            copyToClient(shareitServerResponse.getBody(), response);
+            return shareitServerResponse.getStatusCode();
+        };
+
+        try {
+            return parameters != null
+                    ? rest.execute(path, method, requestCallback, responseExtractor, parameters)
+                    : rest.execute(path, method, requestCallback, responseExtractor);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            response.setStatus(e.getStatusCode().value());
+            MediaType contentType = e.getResponseHeaders() != null ? e.getResponseHeaders().getContentType() : null;
+            if (contentType != null) {
+                response.setContentType(contentType.toString());
+            }
+            try {
+                response.getOutputStream().write(e.getResponseBodyAsByteArray());
+            } catch (IOException clientError) {
+                throw new DownstreamGuard.ClientSideException(clientError);
+            }
+            return e.getStatusCode();
+        }
+    }
+
+    /*
+        Копирование с разделением ошибок по сторонам: сбой чтения тела запроса клиента шлюза или записи ответа
+        ему - обрыв соединения клиентом, такой сбой помечается и не размыкает breaker сервера
+    */
+    private static void copyFromClient(InputStream clientBody, OutputStream serverRequest) throws IOException {
+        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+        while (true) {
+            int read;
+            try {
+                read = clientBody.read(buffer);
+            } catch (IOException e) {
+                throw new DownstreamGuard.ClientSideException(e);
+            }
+            if (read == -1) {
+                break;
+            }
+            serverRequest.write(buffer, 0, read);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        serverRequest.flush();
+    }
+
+    private static void copyToClient(InputStream serverBody, HttpServletResponse response) throws IOException {
+        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+        int read;
+        while ((read = serverBody.read(buffer)) != -1) {
+            try {
+                response.getOutputStream().write(buffer, 0, read);
+            } catch (IOException e) {
+                throw new DownstreamGuard.ClientSideException(e);
+            }
+        }
+        try {
+            response.getOutputStream().flush();
+        } catch (IOException e) {
+            throw new DownstreamGuard.ClientSideException(e);
+        }
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        URI uri = parameters != null
+                ? uriBuilderFactory.expand(path, parameters)
+                : uriBuilderFactory.expand(path);
+        Object payload = body != null ? RawRequestBodies.originalOr(body) : null;
+        return exchange.exchange(method, uri, defaultHeaders(userId), payload, guard);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -104,18 +219,4 @@ public class BaseClient {
         }
         return headers;
     }
-
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
-
-        return responseBuilder.build();
-    }
 }
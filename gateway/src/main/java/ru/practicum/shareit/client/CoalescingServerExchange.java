@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+    Объединяет одинаковые GET-запросы, идущие к серверу одновременно: первый запрос уходит на сервер,
+    остальные до его завершения получают тот же future и тот же ответ. Объединяются только пути
+    из списка endpoints. Ключ - полный URI с параметрами и X-Sharer-User-Id, для путей из userIndependent
+    пользователь в ключ не входит. Готовые ответы не кэшируются: после ответа следующий запрос снова
+    идёт на сервер. Защита подсистемы (bulkhead и circuit breaker) применяется только к первому запросу:
+    присоединившиеся не занимают разрешений и не учитываются в статистике breaker повторно
+*/
+public class CoalescingServerExchange implements ServerExchange {
+
+    static final String CALLS_METRIC = "shareit.gateway.coalescing.calls";
+    static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final ServerExchange delegate;
+    private final Set<String> userIndependent;
+    private final Map<String, Counter> leaderCalls;
+    private final Map<String, Counter> mergedCalls;
+    private final Map<CallKey, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingServerExchange(ServerExchange delegate, MeterRegistry meterRegistry,
+                                    Set<String> endpoints, Set<String> userIndependent) {
+        this.delegate = delegate;
+        this.userIndependent = Set.copyOf(userIndependent);
+        this.leaderCalls = counters(meterRegistry, endpoints, "leader");
+        this.mergedCalls = counters(meterRegistry, endpoints, "merged");
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        return exchange(method, uri, headers, () -> delegate.exchange(method, uri, headers, body));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body, DownstreamGuard guard) {
+        return exchange(method, uri, headers, () -> guard.call(() -> delegate.exchange(method, uri, headers, body)));
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                               Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        String endpoint = uri.getPath();
+        if (method != HttpMethod.GET || !leaderCalls.containsKey(endpoint)) {
+            return call.get();
+        }
+
+        CallKey key = new CallKey(uri, userIndependent.contains(endpoint) ? null : headers.getFirst(USER_HEADER));
+        CompletableFuture<ResponseEntity<Object>> shared = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> running = inFlight.putIfAbsent(key, shared);
+        if (running != null) {
+            mergedCalls.get(endpoint).increment();
+            return running;
+        }
+
+        leaderCalls.get(endpoint).increment();
+        try {
+            call.get().whenComplete((response, error) -> {
+                inFlight.remove(key, shared);
+                if (error != null) {
+                    shared.completeExceptionally(error);
+                } else {
+                    shared.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+        }
+        return shared;
+    }
+
+    private static Map<String, Counter> counters(MeterRegistry meterRegistry, Set<String> endpoints, String result) {
+        return endpoints.stream()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), endpoint -> Counter.builder(CALLS_METRIC)
+                        .description("Запросы к серверу, прошедшие через объединение одинаковых GET")
+                        .tag("endpoint", endpoint)
+                        .tag("result", result)
+                        .register(meterRegistry)));
+    }
+
+    private record CallKey(URI uri, @Nullable String userId) {
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.DownstreamUnavailableException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/*
+    Защита одной подсистемы сервера (вещи, бронирования, пользователи, запросы): bulkhead ограничивает
+    число одновременных вызовов, circuit breaker размыкается по доле ошибок и медленных вызовов.
+    Вызов, для которого нет разрешения, сразу завершается DownstreamUnavailableException (503), не занимая
+    поток в ожидании сервера. Ответы 5xx считаются ошибками так же, как сбои соединения и таймауты.
+    Потоковые NDJSON-обмены длятся долго по своей природе, поэтому учитываются отдельным breaker
+    без порога медленных вызовов, а обрыв соединения клиентом шлюза сбоем сервера не считается
+*/
+public class DownstreamGuard {
+
+    static final String MSG_UNAVAILABLE = "Сервис %s временно недоступен, повторите запрос позже";
+
+    private final CircuitBreaker circuitBreaker;
+    private final CircuitBreaker streamingCircuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public DownstreamGuard(CircuitBreaker circuitBreaker, CircuitBreaker streamingCircuitBreaker, Bulkhead bulkhead) {
+        this.circuitBreaker = circuitBreaker;
+        this.streamingCircuitBreaker = streamingCircuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> call(Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        acquirePermission(circuitBreaker);
+        long start = circuitBreaker.getCurrentTimestamp();
+        CompletableFuture<ResponseEntity<Object>> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            onError(circuitBreaker, start, e);
+            throw e;
+        }
+        return response.whenComplete((result, error) -> {
+            if (error != null) {
+                onError(circuitBreaker, start, error);
+            } else {
+                onResponse(circuitBreaker, start, result.getStatusCode());
+            }
+        });
+    }
+
+    public void run(StreamingCall call) throws IOException {
+        acquirePermission(streamingCircuitBreaker);
+        long start = streamingCircuitBreaker.getCurrentTimestamp();
+        HttpStatusCode status;
+        try {
+            status = call.run();
+        } catch (IOException | RuntimeException e) {
+            if (isClientSide(e)) {
+                streamingCircuitBreaker.releasePermission();
+                bulkhead.onComplete();
+            } else {
+                onError(streamingCircuitBreaker, start, e);
+            }
+            throw e;
+        }
+        onResponse(streamingCircuitBreaker, start, status);
+    }
+
+    private void acquirePermission(CircuitBreaker breaker) {
+        if (!bulkhead.tryAcquirePermission()) {
+            throw new DownstreamUnavailableException(String.format(MSG_UNAVAILABLE, bulkhead.getName()));
+        }
+        if (!breaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            throw new DownstreamUnavailableException(String.format(MSG_UNAVAILABLE, breaker.getName()));
+        }
+    }
+
+    private void onResponse(CircuitBreaker breaker, long start, HttpStatusCode status) {
+        if (status.is5xxServerError()) {
+            onError(breaker, start, new ServerErrorResponse(status.value()));
+        } else {
+            breaker.onSuccess(breaker.getCurrentTimestamp() - start, breaker.getTimestampUnit());
+            bulkhead.onComplete();
+        }
+    }
+
+    private void onError(CircuitBreaker breaker, long start, Throwable error) {
+        breaker.onError(breaker.getCurrentTimestamp() - start, breaker.getTimestampUnit(), error);
+        bulkhead.onComplete();
+    }
+
+    // RestTemplate оборачивает ошибки ввода-вывода в ResourceAccessException, поэтому просматривается вся цепочка
+    private static boolean isClientSide(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ClientSideException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Потоковый обмен возвращает статус ответа сервера: тело ошибки передаётся клиенту, но 5xx учитывается breaker
+    @FunctionalInterface
+    public interface StreamingCall {
+        HttpStatusCode run() throws IOException;
+    }
+
+    /*
+        Ошибка на стороне клиента шлюза: клиент оборвал соединение, пока шлюз читал тело запроса
+        или писал ответ. Сервер тут ни при чём
+    */
+    public static class ClientSideException extends IOException {
+        public ClientSideException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    static class ServerErrorResponse extends RuntimeException {
+        ServerErrorResponse(int status) {
+            super("Сервер ответил " + status, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/*
+    Circuit breaker и bulkhead подсистемы берутся из реестров Resilience4j по её имени: настройки
+    resilience4j.circuitbreaker.instances.<имя> и resilience4j.bulkhead.instances.<имя>, а состояние
+    видно в actuator (circuitbreakers, bulkheads, health) и в метриках resilience4j.*.
+    Потоковые обмены подсистемы учитываются breaker <имя>-streaming
+*/
+@Component
+@RequiredArgsConstructor
+public class DownstreamGuards {
+
+    static final String STREAMING_SUFFIX = "-streaming";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public DownstreamGuard forDownstream(String name) {
+        return new DownstreamGuard(circuitBreakerRegistry.circuitBreaker(name),
+                circuitBreakerRegistry.circuitBreaker(name + STREAMING_SUFFIX),
+                bulkheadRegistry.bulkhead(name));
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/*
+    Неблокирующий обмен с сервером на JDK HttpClient: ожидание ответа не занимает ни поток Tomcat,
+    ни поток пула - ответы читает селектор клиента, а разбор тела выполняется в небольшом пуле executor.
+    Ошибки сервера возвращаются так же, как в блокирующем режиме: статус и тело ответа байтами.
+    В режиме pass-through и успешный ответ передаётся байтами с заголовками сервера, без разбора JSON.
+    С версией HTTP_2 первое соединение переходит на h2c через Upgrade, и дальше все запросы идут потоками
+    одного соединения; если сервер не поддерживает HTTP/2, клиент остаётся на HTTP/1.1
+*/
+public class HttpClientServerExchange implements ServerExchange, AutoCloseable {
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final Duration responseTimeout;
+    private final boolean passThrough;
+
+    public HttpClientServerExchange(ExecutorService executor, ObjectMapper objectMapper, HttpClient.Version version,
+                                    Duration connectTimeout, Duration responseTimeout, boolean passThrough) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.responseTimeout = responseTimeout;
+        this.passThrough = passThrough;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(responseTimeout)
+                .method(method.name(), body != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(writeJson(body))
+                        : HttpRequest.BodyPublishers.noBody());
+        headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::toGatewayResponse);
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+        executor.shutdown();
+    }
+
+    private ResponseEntity<Object> toGatewayResponse(HttpResponse<byte[]> shareitServerResponse) {
+        HttpStatusCode status = HttpStatusCode.valueOf(shareitServerResponse.statusCode());
+        byte[] body = shareitServerResponse.body();
+        if (passThrough) {
+            return PassThroughResponses.of(status, shareitServerResponse.headers().map(), body);
+        }
+        if (!status.is2xxSuccessful()) {
+            return ResponseEntity.status(status).body(body);
+        }
+        if (body.length == 0) {
+            return ResponseEntity.status(status).build();
+        }
+        return ResponseEntity.status(status).body(readJson(body));
+    }
+
+    private byte[] writeJson(Object body) {
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Не удалось сериализовать тело запроса", e);
+        }
+    }
+
+    private Object readJson(byte[] body) {
+        try {
+            return objectMapper.readValue(body, Object.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось разобрать ответ сервера", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    Ответ сервера в режиме pass-through: статус, заголовки и тело байтами передаются клиенту без разбора JSON.
+    Заголовки соединения и длины тела не копируются: их выставляет Tomcat шлюза для своего ответа
+*/
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PassThroughResponses {
+
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization", "content-length", "date"
+    );
+
+    static ResponseEntity<Object> of(HttpStatusCode status, @Nullable Map<String, List<String>> headers,
+                                     @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status)
+                .headers(copyHeaders(headers));
+        if (body == null || body.length == 0) {
+            return responseBuilder.build();
+        }
+        return responseBuilder.body(body);
+    }
+
+    private static HttpHeaders copyHeaders(@Nullable Map<String, List<String>> source) {
+        HttpHeaders headers = new HttpHeaders();
+        if (source == null) {
+            return headers;
+        }
+        source.forEach((name, values) -> {
+            if (!name.startsWith(":") && !SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+}
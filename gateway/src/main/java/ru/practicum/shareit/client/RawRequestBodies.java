@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/*
+    Исходные байты JSON-тела запроса к шлюзу. RawRequestBodyAdvice запоминает их вместе с объектом,
+    который из них прочитал Jackson, и если клиент отправляет на сервер именно этот объект, уходят исходные
+    байты без повторной сериализации. Любой другой объект сериализуется как обычно
+*/
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class RawRequestBodies {
+
+    static final String BYTES_ATTRIBUTE = RawRequestBodies.class.getName() + ".bytes";
+    static final String BODY_ATTRIBUTE = RawRequestBodies.class.getName() + ".body";
+
+    static Object originalOr(Object body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null
+                || attributes.getAttribute(BODY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != body) {
+            return body;
+        }
+        Object bytes = attributes.getAttribute(BYTES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return bytes != null ? bytes : body;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/*
+    В режиме pass-through сохраняет байты JSON-тела перед разбором, чтобы проверенное тело ушло на сервер
+    в исходном виде. Тела не в UTF-8 не сохраняются: на сервер они уходят повторно сериализованными
+*/
+@ControllerAdvice
+@ConditionalOnProperty(name = "shareit-server.client.pass-through", havingValue = "true")
+public class RawRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        MediaType contentType = inputMessage.getHeaders().getContentType();
+        if (contentType != null && contentType.getCharset() != null
+                && !StandardCharsets.UTF_8.equals(contentType.getCharset())) {
+            return inputMessage;
+        }
+        byte[] bytes = inputMessage.getBody().readAllBytes();
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(RawRequestBodies.BYTES_ATTRIBUTE, bytes, RequestAttributes.SCOPE_REQUEST);
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(bytes);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return inputMessage.getHeaders();
+            }
+        };
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        if (attributes.getAttribute(RawRequestBodies.BYTES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            attributes.setAttribute(RawRequestBodies.BODY_ATTRIBUTE, body, RequestAttributes.SCOPE_REQUEST);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+public class RestTemplateServerExchange implements ServerExchange {
+
+    private final RestTemplate rest;
+    private final boolean passThrough;
+
+    public RestTemplateServerExchange(RestTemplate rest, boolean passThrough) {
+        this.rest = rest;
+        this.passThrough = passThrough;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+        return CompletableFuture.completedFuture(passThrough
+                ? relay(method, uri, requestEntity)
+                : parse(method, uri, requestEntity));
+    }
+
+    private ResponseEntity<Object> parse(HttpMethod method, URI uri, HttpEntity<Object> requestEntity) {
+        ResponseEntity<Object> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(uri, method, requestEntity, Object.class);
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private ResponseEntity<Object> relay(HttpMethod method, URI uri, HttpEntity<Object> requestEntity) {
+        try {
+            ResponseEntity<byte[]> shareitServerResponse = rest.exchange(uri, method, requestEntity, byte[].class);
+            return PassThroughResponses.of(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                    shareitServerResponse.getBody());
+        } catch (HttpStatusCodeException e) {
+            return PassThroughResponses.of(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+/*
+    Один пул HTTP-соединений к серверу на все клиенты шлюза: ItemClient, BookingClient, UserClient,
+    ItemRequestClient и блокирующий ServerExchange собирают RestTemplate через общий RestTemplateBuilder
+    и получают одну фабрику запросов. Состояние пула (leased, pending, available) публикуется в метриках
+    httpcomponents.httpclient.pool.*. При shareit-server.client.http2=true пул не нужен - запросы мультиплексируются
+    по HTTP/2 (см. ServerHttp2Config)
+*/
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.client.http2", havingValue = "false", matchIfMissing = true)
+public class ServerConnectionPoolConfig {
+
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    PoolingHttpClientConnectionManager serverConnectionManager(
+            @Value("${shareit-server.pool.max-total}") int maxTotal,
+            @Value("${shareit-server.pool.max-per-route}") int maxPerRoute,
+            @Value("${shareit-server.pool.validate-after-inactivity}") Duration validateAfterInactivity,
+            @Value("${shareit-server.pool.time-to-live}") Duration timeToLive,
+            @Value("${shareit-server.client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.client.response-timeout}") Duration responseTimeout) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    CloseableHttpClient serverHttpClient(
+            PoolingHttpClientConnectionManager serverConnectionManager,
+            @Value("${shareit-server.pool.lease-timeout}") Duration leaseTimeout,
+            @Value("${shareit-server.pool.idle-eviction}") Duration idleEviction,
+            @Value("${shareit-server.client.response-timeout}") Duration responseTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(leaseTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
+    @Bean
+    HttpComponentsClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+    }
+
+    @Bean
+    MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, POOL_NAME);
+    }
+}
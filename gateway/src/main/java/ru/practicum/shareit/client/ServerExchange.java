@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+/*
+    Отправка JSON-запроса на сервер. Ответ сервера приходит future: блокирующая реализация возвращает его
+    уже завершённым, асинхронная - завершает после ответа, не занимая поток Tomcat на время ожидания
+*/
+public interface ServerExchange {
+
+    CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                       @Nullable Object body);
+
+    /*
+        Вызов под защитой подсистемы сервера. Обёртка транспорта может защищать не каждый вызов:
+        объединение одинаковых GET проводит через защиту только запрос, который действительно уходит на сервер
+    */
+    default CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                               @Nullable Object body, DownstreamGuard guard) {
+        return guard.call(() -> exchange(method, uri, headers, body));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+/*
+    Режим обмена с сервером задаётся shareit-server.client.mode: blocking - RestTemplate в потоке запроса,
+    async - JDK HttpClient, контроллеры отдают future, и поток Tomcat освобождается до ответа сервера.
+    shareit-server.client.pass-through=true передаёт тела запросов и ответов байтами, без повторной сериализации,
+    shareit-server.client.http2=true переводит оба режима на HTTP/2 без TLS (h2c).
+    Клиенты получают транспорт, обёрнутый объединением одинаковых GET-запросов
+*/
+@Configuration
+public class ServerExchangeConfig {
+
+    static final String SERVER_TRANSPORT = "serverTransport";
+
+    @Bean
+    RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                            ClientHttpRequestFactory serverRequestFactory) {
+        return configurer.configure(new RestTemplateBuilder())
+                .requestFactory(() -> serverRequestFactory);
+    }
+
+    @Bean(SERVER_TRANSPORT)
+    @ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "blocking", matchIfMissing = true)
+    ServerExchange restTemplateServerExchange(
+            RestTemplateBuilder builder,
+            @Value("${shareit-server.client.pass-through}") boolean passThrough) {
+        return new RestTemplateServerExchange(builder.build(), passThrough);
+    }
+
+    @Bean(SERVER_TRANSPORT)
+    @ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "async")
+    ServerExchange httpClientServerExchange(
+            ObjectMapper objectMapper,
+            @Value("${shareit-server.client.async.threads}") int threads,
+            @Value("${shareit-server.client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.client.response-timeout}") Duration responseTimeout,
+            @Value("${shareit-server.client.pass-through}") boolean passThrough,
+            @Value("${shareit-server.client.http2}") boolean http2) {
+        return new HttpClientServerExchange(Executors.newFixedThreadPool(threads, Thread.ofPlatform()
+                .name("shareit-server-client-", 0)
+                .daemon()
+                .factory()), objectMapper, http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1,
+                connectTimeout, responseTimeout, passThrough);
+    }
+
+    @Bean
+    @Primary
+    ServerExchange coalescingServerExchange(
+            @Qualifier(SERVER_TRANSPORT) ServerExchange serverTransport,
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.coalescing.endpoints}") Set<String> endpoints,
+            @Value("${shareit-server.coalescing.user-independent}") Set<String> userIndependent) {
+        return new CoalescingServerExchange(serverTransport, meterRegistry, endpoints, userIndependent);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/*
+    HTTP/2 без TLS (h2c) между шлюзом и сервером: вместо пула соединений HttpComponents RestTemplate-клиенты
+    работают через один JDK HttpClient, и все запросы к серверу идут потоками одного соединения.
+    Число одновременных потоков ограничивает сервер (shareit.http2.max-concurrent-streams), а не размер пула.
+    На сервере должен быть включён server.http2.enabled
+*/
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.client.http2", havingValue = "true")
+public class ServerHttp2Config {
+
+    @Bean
+    HttpClient serverHttp2Client(@Value("${shareit-server.client.connect-timeout}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Bean
+    JdkClientHttpRequestFactory serverRequestFactory(
+            HttpClient serverHttp2Client,
+            @Value("${shareit-server.client.response-timeout}") Duration responseTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(serverHttp2Client);
+        requestFactory.setReadTimeout(responseTimeout);
+        return requestFactory;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class DownstreamUnavailableException extends RuntimeException {
+    public DownstreamUnavailableException(String message) {
+        super(message);
+    }
+}
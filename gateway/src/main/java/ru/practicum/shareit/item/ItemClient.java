@@ -1,35 +1,42 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.DownstreamGuards;
+import ru.practicum.shareit.client.ServerExchange;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
+    private static final String DOWNSTREAM = "items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build());
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ServerExchange exchange, DownstreamGuards guards) {
+        super(serverUrl + API_PREFIX, builder, exchange, guards.forDownstream(DOWNSTREAM));
     }
 
-    public ResponseEntity<Object> createItem(Long userId, NewItemDto newItemDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(Long userId, NewItemDto newItemDto) {
         return post("", userId, newItemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, Long itemId, UpdateItemDto updateItemDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItems(Long userId, List<NewItemDto> newItemDtos) {
+        return post("/batch", userId, newItemDtos);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> updateItem(Long userId, Long itemId, UpdateItemDto updateItemDto) {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId
         );
@@ -37,7 +44,7 @@ public class ItemClient extends BaseClient {
         return patch("/{itemId}", userId, parameters, updateItemDto);
     }
 
-    public ResponseEntity<Object> getItem(Long userId, Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItem(Long userId, Long itemId) {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId
         );
@@ -45,11 +52,15 @@ public class ItemClient extends BaseClient {
         return get("/{itemId}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllItemsOfOwner(Long ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllItemsOfOwner(Long ownerId) {
         return get("", ownerId);
     }
 
-    public ResponseEntity<Object> searchItems(Long userId, String text) {
+    public void streamAllItemsOfOwner(Long ownerId, HttpServletResponse response) throws IOException {
+        stream("", ownerId, null, response);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> searchItems(Long userId, String text) {
         Map<String, Object> parameters = Map.of(
                 "text", text
         );
@@ -57,7 +68,16 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(Long userId, Long itemId, NewCommentDto newCommentDto) {
+    public CompletableFuture<ResponseEntity<Object>> suggestItemNames(Long userId, String prefix, int limit) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "limit", limit
+        );
+
+        return get("/suggest?prefix={prefix}&limit={limit}", userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> addComment(Long userId, Long itemId, NewCommentDto newCommentDto) {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId
         );
@@ -1,8 +1,14 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -11,7 +17,9 @@ import ru.practicum.shareit.item.dto.NewItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
 import ru.practicum.shareit.validation.IdValid;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/items")
@@ -20,10 +28,13 @@ import java.util.List;
 @Validated
 public class ItemController {
 
+    private static final int MAX_SUGGEST_LIMIT = 50;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final ItemClient client;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(
+    public CompletableFuture<ResponseEntity<Object>> createItem(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody NewItemDto newItemDto
     ) {
@@ -31,8 +42,19 @@ public class ItemController {
         return client.createItem(userId, newItemDto);
     }
 
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<Object>> createItems(
+            @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
+            @NotEmpty(message = "Пустой список вещей")
+            @Size(max = MAX_BATCH_SIZE, message = "За один запрос можно создать не больше " + MAX_BATCH_SIZE + " вещей")
+            @RequestBody List<@Valid NewItemDto> newItemDtos
+    ) {
+        log.info("createItems. userId: {}, count: {}", userId, newItemDtos.size());
+        return client.createItems(userId, newItemDtos);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(
+    public CompletableFuture<ResponseEntity<Object>> updateItem(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
             @IdValid("itemId") @PathVariable Long itemId,
             @Valid @RequestBody UpdateItemDto updateItemDto
@@ -42,7 +64,7 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(
+    public CompletableFuture<ResponseEntity<Object>> getItem(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
             @IdValid("itemId") @PathVariable Long itemId
     ) {
@@ -51,28 +73,53 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemsOfOwner(
+    public CompletableFuture<ResponseEntity<Object>> getAllItemsOfOwner(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long ownerId
     ) {
         log.info("getAllItemsOfOwner. ownerId: {}", ownerId);
         return client.getAllItemsOfOwner(ownerId);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllItemsOfOwner(
+            @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("streamAllItemsOfOwner. ownerId: {}", ownerId);
+        client.streamAllItemsOfOwner(ownerId, response);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(
+    public CompletableFuture<ResponseEntity<Object>> searchItems(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestParam("text") String text
     ) {
         log.info("searchItems. userId: {}, text: {}", userId, text);
         if (text == null || text.isBlank()) {
-            return ResponseEntity.ok(List.of());
+            return CompletableFuture.completedFuture(ResponseEntity.ok(List.of()));
         }
 
         return client.searchItems(userId, text);
     }
 
+    @GetMapping("/suggest")
+    public CompletableFuture<ResponseEntity<Object>> suggestItemNames(
+            @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam("prefix") String prefix,
+            @Positive(message = "limit должен быть положительным")
+            @Max(value = MAX_SUGGEST_LIMIT, message = "limit не может быть больше " + MAX_SUGGEST_LIMIT)
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        log.info("suggestItemNames. userId: {}, prefix: {}, limit: {}", userId, prefix, limit);
+        if (prefix.isBlank()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(List.of()));
+        }
+
+        return client.suggestItemNames(userId, prefix, limit);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(
+    public CompletableFuture<ResponseEntity<Object>> addComment(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
             @IdValid("itemId") @PathVariable Long itemId,
             @Valid @RequestBody NewCommentDto newCommentDto
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Ограничивает частоту запросов пользователя (X-Sharer-User-Id) к группе эндпоинтов. Запросы без
+    пользователя или с нечисловым идентификатором пропускаются: их отклонит проверка в контроллере.
+    Превысивший лимит запрос получает 429 и Retry-After в секундах
+*/
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String MSG_TOO_MANY_REQUESTS = "Слишком много запросов, повторите через %d с";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long userId = userId(request);
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String group = group(request);
+        long waitNanos = rateLimiter.tryAcquire(group, userId);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.warn("Превышен лимит запросов. userId: {}, group: {}, retryAfter: {} с", userId, group, retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(String.format(MSG_TOO_MANY_REQUESTS, retryAfterSeconds)));
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        String header = request.getHeader("X-Sharer-User-Id");
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /*
+        Группа определяется по тому же пути, по которому запрос сопоставится с контроллером: декодированному,
+        без параметров пути (;x=1), повторных слешей и сегментов "." и "..". Иначе /%69tems/search
+        или /./items/search попадали бы в несуществующую группу без лимита
+    */
+    private static String group(HttpServletRequest request) {
+        String path = StringUtils.cleanPath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        int start = 0;
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/*
+    Лимиты по группам эндпоинтов: группа - контроллер, первый сегмент пути (items, bookings, requests).
+    rate - жетонов в секунду, burst - ёмкость ведра
+*/
+@ConfigurationProperties("shareit-gateway.rate-limit")
+public record RateLimitProperties(long maxBuckets, Duration idleTimeout, Map<String, Limit> groups) {
+
+    public record Limit(double rate, int burst) {
+    }
+}
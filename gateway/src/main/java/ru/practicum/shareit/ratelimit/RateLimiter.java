@@ -0,0 +1,40 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Map;
+
+/*
+    Вёдра по паре пользователь - группа эндпоинтов. Простаивающие вёдра вытесняются после idle-timeout,
+    общее число ограничено max-buckets. Вытесненное ведро при следующем запросе создаётся полным, поэтому
+    idle-timeout должен быть больше времени наполнения ведра (burst / rate)
+*/
+public class RateLimiter {
+
+    private final Map<String, RateLimitProperties.Limit> limits;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.limits = Map.copyOf(properties.groups());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+    }
+
+    /*
+        0, если запрос пропущен, иначе сколько наносекунд ждать. Группы без лимита не ограничиваются
+    */
+    public long tryAcquire(String group, long userId) {
+        RateLimitProperties.Limit limit = limits.get(group);
+        if (limit == null) {
+            return 0;
+        }
+        TokenBucket bucket = buckets.get(new BucketKey(userId, group), key -> new TokenBucket(limit.rate(), limit.burst()));
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    private record BucketKey(long userId, String group) {
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Token bucket в форме GCRA: вместо числа жетонов хранится одно число - теоретическое время прихода
+    следующего запроса. Каждый запрос сдвигает его на интервал между жетонами, и запрос пропускается,
+    пока сдвиг не ушёл вперёд от текущего времени больше, чем на ёмкость ведра. Решение - один CAS без блокировок
+*/
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(double ratePerSecond, int burst) {
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.capacityNanos = emissionIntervalNanos * burst;
+    }
+
+    /*
+        0, если жетон получен, иначе сколько наносекунд ждать до следующего жетона
+    */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - capacityNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
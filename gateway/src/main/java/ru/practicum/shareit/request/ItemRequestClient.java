@@ -3,38 +3,38 @@ package ru.practicum.shareit.request;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.DownstreamGuards;
+import ru.practicum.shareit.client.ServerExchange;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private static final String DOWNSTREAM = "requests";
 
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build());
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ServerExchange exchange, DownstreamGuards guards) {
+        super(serverUrl + API_PREFIX, builder, exchange, guards.forDownstream(DOWNSTREAM));
     }
 
-    public ResponseEntity<Object> createItemRequest(Long userId, NewItemRequestDto newItemRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(Long userId, NewItemRequestDto newItemRequestDto) {
         return post("", userId, newItemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllItemsRequestsByRequestor(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllItemsRequestsByRequestor(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllItemsRequests(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllItemsRequests(Long userId) {
         return get("/all", userId);
     }
 
-    public ResponseEntity<Object> getItemRequest(Long userId, Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequest(Long userId, Long requestId) {
         Map<String, Object> parameters = Map.of(
                 "requestId", requestId
         );
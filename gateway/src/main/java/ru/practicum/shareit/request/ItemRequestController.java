@@ -9,6 +9,8 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 import ru.practicum.shareit.validation.IdValid;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/requests")
 @RequiredArgsConstructor
@@ -19,7 +21,7 @@ public class ItemRequestController {
     private final ItemRequestClient client;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody NewItemRequestDto newItemRequestDto
     ) {
@@ -28,7 +30,7 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemsRequestsByRequestor(
+    public CompletableFuture<ResponseEntity<Object>> getAllItemsRequestsByRequestor(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long requestorId
     ) {
         log.info("getAllItemsRequestsByRequestor. requestorId: {}", requestorId);
@@ -36,7 +38,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemsRequests(
+    public CompletableFuture<ResponseEntity<Object>> getAllItemsRequests(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId
     ) {
         log.info("getAllItemsRequests. userId: {}", userId);
@@ -44,7 +46,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequest(
+    public CompletableFuture<ResponseEntity<Object>> getItemRequest(
             @IdValid("X-Sharer-User-Id") @RequestHeader("X-Sharer-User-Id") Long userId,
             @IdValid("requestId") @PathVariable Long requestId
     ) {
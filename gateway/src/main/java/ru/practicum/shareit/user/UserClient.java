@@ -1,34 +1,41 @@
 package ru.practicum.shareit.user;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.DownstreamGuards;
+import ru.practicum.shareit.client.ServerExchange;
 import ru.practicum.shareit.user.dto.NewUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
+    private static final String DOWNSTREAM = "users";
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build());
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ServerExchange exchange, DownstreamGuards guards) {
+        super(serverUrl + API_PREFIX, builder, exchange, guards.forDownstream(DOWNSTREAM));
     }
 
-    public ResponseEntity<Object> createUser(NewUserDto newUserDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(NewUserDto newUserDto) {
         return post("", newUserDto);
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
+    public void importUsers(InputStream body, HttpServletResponse response) throws IOException {
+        streamUpload("/import", null, body, response);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getUser(Long userId) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
@@ -36,7 +43,7 @@ public class UserClient extends BaseClient {
         return get("/{userId}", null, parameters);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UpdateUserDto updateUserDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(Long userId, UpdateUserDto updateUserDto) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
@@ -44,7 +51,7 @@ public class UserClient extends BaseClient {
         return patch("/{userId}", null, parameters, updateUserDto);
     }
 
-    public ResponseEntity<Object> removeUser(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> removeUser(Long userId) {
         Map<String, Object> parameters = Map.of(
                 "userId", userId
         );
@@ -52,7 +59,11 @@ public class UserClient extends BaseClient {
         return delete("/{userId}", null, parameters);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
+
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        stream("", null, null, response);
+    }
 }
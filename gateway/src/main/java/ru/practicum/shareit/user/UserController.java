@@ -1,8 +1,11 @@
 package ru.practicum.shareit.user;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +13,9 @@ import ru.practicum.shareit.user.dto.NewUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.validation.IdValid;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -20,19 +26,27 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody NewUserDto newUserDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@Valid @RequestBody NewUserDto newUserDto) {
         log.info("createUser. newUserDto: {}", newUserDto);
         return userClient.createUser(newUserDto);
     }
 
+    @PostMapping(path = "/import",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("importUsers. contentLength: {}", request.getContentLengthLong());
+        userClient.importUsers(request.getInputStream(), response);
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@IdValid("userId") @PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(@IdValid("userId") @PathVariable Long userId) {
         log.info("getUser. userId: {}", userId);
         return userClient.getUser(userId);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(
+    public CompletableFuture<ResponseEntity<Object>> updateUser(
             @IdValid("userId") @PathVariable Long userId,
             @Valid @RequestBody UpdateUserDto updateUserDto
     ) {
@@ -41,14 +55,20 @@ public class UserController {
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> removeUser(@IdValid("userId") @PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> removeUser(@IdValid("userId") @PathVariable Long userId) {
         log.info("removeUser. userId: {}", userId);
         return userClient.removeUser(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getAllUsers() {
         log.info("getAllUsers.");
         return userClient.getAllUsers();
     }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        log.info("streamAllUsers.");
+        userClient.streamAllUsers(response);
+    }
 }
\ No newline at end of file
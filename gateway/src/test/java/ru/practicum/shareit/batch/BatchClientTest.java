@@ -0,0 +1,137 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+class BatchClientTest {
+
+    private static final long SLOW_CALL_MILLIS = 300;
+    private static final Duration TIMEOUT = Duration.ofMillis(1_000);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private BatchClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/items", http -> {
+            sleepQuietly(SLOW_CALL_MILLIS);
+            byte[] body = http.getRequestBody().readAllBytes();
+            String userId = http.getRequestHeaders().getFirst("X-Sharer-User-Id");
+            respond(http, 200, ("{\"method\": \"" + http.getRequestMethod() + "\", \"userId\": " + userId
+                    + (body.length > 0 ? ", \"echo\": " + new String(body, StandardCharsets.UTF_8) : "") + "}"));
+        });
+        server.createContext("/marker", http -> respond(http, 200,
+                "\"" + http.getRequestHeaders().getFirst(BatchClient.SUB_REQUEST_HEADER) + "\""));
+        server.createContext("/missing", http -> respond(http, 404, "{\"error\": \"not found\"}"));
+        server.createContext("/hanging", http -> {
+            sleepQuietly(TIMEOUT.toMillis() * 3);
+            respond(http, 200, "[]");
+        });
+        server.start();
+
+        client = new BatchClient(objectMapper, TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    void execute_runsSubRequestsConcurrentlyAndKeepsOrder() throws Exception {
+        // given
+        List<SubRequestDto> subRequests = List.of(
+                new SubRequestDto("GET", "/items", null),
+                new SubRequestDto("GET", "/missing", null),
+                new SubRequestDto("POST", "/items", objectMapper.readTree("{\"name\": \"Дрель\"}")),
+                new SubRequestDto("GET", "/items?from=0", null));
+
+        // when
+        long start = System.nanoTime();
+        List<SubResponseDto> responses = client.execute(gateway(), 7L, subRequests).get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertThat(responses.stream().map(SubResponseDto::getStatus).toList(), equalTo(List.of(200, 404, 200, 200)));
+        assertThat(responses.get(0).getBody(), equalTo(objectMapper.readTree("{\"method\": \"GET\", \"userId\": 7}")));
+        assertThat(responses.get(1).getBody().get("error").asText(), equalTo("not found"));
+        assertThat(responses.get(2).getBody(),
+                equalTo(objectMapper.readTree("{\"method\": \"POST\", \"userId\": 7, \"echo\": {\"name\": \"Дрель\"}}")));
+        assertThat(elapsedMillis, lessThan(SLOW_CALL_MILLIS * subRequests.size()));
+    }
+
+    @Test
+    void execute_slowSubRequest_returns504WithinTimeout() throws Exception {
+        // given
+        List<SubRequestDto> subRequests = List.of(
+                new SubRequestDto("GET", "/hanging", null),
+                new SubRequestDto("GET", "/items", null));
+
+        // when
+        long start = System.nanoTime();
+        List<SubResponseDto> responses = client.execute(gateway(), 7L, subRequests).get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertThat(responses.get(0).getStatus(), equalTo(504));
+        assertThat(responses.get(0).getBody().get("error").asText(),
+                equalTo(String.format(BatchClient.MSG_TIMEOUT, TIMEOUT.toMillis())));
+        assertThat(responses.get(1).getStatus(), equalTo(200));
+        assertThat(elapsedMillis, lessThan(TIMEOUT.toMillis() * 2));
+    }
+
+    @Test
+    void execute_marksSubRequests() throws Exception {
+        // when
+        List<SubResponseDto> responses = client.execute(gateway(), 7L, List.of(new SubRequestDto("GET", "/marker", null)))
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(responses.getFirst().getBody().asText(), equalTo("true"));
+    }
+
+    private URI gateway() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    private static void respond(HttpExchange http, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        http.getResponseHeaders().set("Content-Type", "application/json");
+        http.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = http.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.IntNode;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BatchController.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BatchControllerTest {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+
+    @MockBean
+    private BatchClient batchClient;
+
+    @Test
+    void executeBatch_tooManySubRequests_returns400() throws Exception {
+        // given
+        List<SubRequestDto> subRequests = Collections.nCopies(BatchController.MAX_BATCH_SIZE + 1,
+                new SubRequestDto("GET", "/items", null));
+
+        // when/then
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(subRequests)))
+                .andExpect(status().isBadRequest());
+
+        // verify
+        verifyNoInteractions(batchClient);
+    }
+
+    @Test
+    void executeBatch_nestedBatchOrUnsupportedMethod_returns400() throws Exception {
+        // given
+        List<SubRequestDto> subRequests = List.of(
+                new SubRequestDto("POST", "/batch", null),
+                new SubRequestDto("PUT", "/items/1", null),
+                new SubRequestDto("GET", "//evil.example/items", null));
+
+        // when/then
+        for (SubRequestDto subRequest : subRequests) {
+            mockMvc.perform(post("/batch")
+                            .header("X-Sharer-User-Id", 1L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsBytes(List.of(subRequest))))
+                    .andExpect(status().isBadRequest());
+        }
+
+        // verify
+        verifyNoInteractions(batchClient);
+    }
+
+    @Test
+    void executeBatch_calledAsSubRequest_returns400() throws Exception {
+        // given
+        List<SubRequestDto> subRequests = List.of(new SubRequestDto("GET", "/items", null));
+
+        // when/then
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(BatchClient.SUB_REQUEST_HEADER, "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(subRequests)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(BatchController.MSG_NESTED_BATCH));
+
+        // verify
+        verifyNoInteractions(batchClient);
+    }
+
+    @Test
+    void executeBatch_valid_returnsResultsInOrder() throws Exception {
+        // given
+        List<SubRequestDto> subRequests = List.of(
+                new SubRequestDto("GET", "/items", null),
+                new SubRequestDto("GET", "/bookings?state=ALL", null));
+        when(batchClient.execute(any(URI.class), eq(1L), anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(
+                        new SubResponseDto(200, IntNode.valueOf(1)),
+                        new SubResponseDto(404, null))));
+
+        // when
+        MvcResult result = mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(subRequests)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].body").value(1))
+                .andExpect(jsonPath("$[1].status").value(404));
+    }
+}
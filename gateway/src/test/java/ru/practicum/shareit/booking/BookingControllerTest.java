@@ -7,11 +7,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.model.BookingState;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -39,4 +55,80 @@ class BookingControllerTest {
         // verify
         verifyNoInteractions(bookingClient);
     }
+
+    @Test
+    void byOwner_nonPositiveLimit_returns400() throws Exception {
+        // given
+        Long ownerId = 1L;
+
+        // when / then
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        // verify
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void approveBatch_invalidDecision_returns400() throws Exception {
+        // given
+        Long ownerId = 1L;
+        String body = "[{\"bookingId\": 10, \"approved\": true}, {\"bookingId\": -1}]";
+
+        // when / then
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        // verify
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void approveBatch_valid_delegatesToClient() throws Exception {
+        // given
+        Long ownerId = 1L;
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(10L, true),
+                new BookingDecisionDto(11L, false)
+        );
+        when(bookingClient.approveBookings(eq(ownerId), anyList()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(List.of())));
+
+        // when / then
+        MvcResult result = mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        // verify
+        verify(bookingClient).approveBookings(ownerId, decisions);
+        verifyNoMoreInteractions(bookingClient);
+    }
+
+    @Test
+    void byBooker_acceptNdjson_delegatesToStreamingClient() throws Exception {
+        // given
+        Long userId = 2L;
+
+        // when / then
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", "FUTURE")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk());
+
+        // verify
+        verify(bookingClient).streamByBooker(eq(userId), eq(BookingState.FUTURE), any());
+        verifyNoMoreInteractions(bookingClient);
+    }
 }
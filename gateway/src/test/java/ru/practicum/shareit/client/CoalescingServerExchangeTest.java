@@ -0,0 +1,140 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CoalescingServerExchangeTest {
+
+    private static final URI SEARCH = URI.create("http://localhost:9090/items/search?text=drill");
+    private static final URI ALL_REQUESTS = URI.create("http://localhost:9090/requests/all");
+    private static final URI ITEM = URI.create("http://localhost:9090/items/1");
+
+    private ServerExchange transport;
+    private MeterRegistry meterRegistry;
+    private CoalescingServerExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        transport = mock(ServerExchange.class);
+        meterRegistry = new SimpleMeterRegistry();
+        exchange = new CoalescingServerExchange(transport, meterRegistry,
+                Set.of("/items/search", "/requests/all"), Set.of("/items/search"));
+    }
+
+    @Test
+    void exchange_identicalGetsInFlight_shareOneCall() {
+        // given
+        CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+        when(transport.exchange(eq(HttpMethod.GET), eq(SEARCH), any(), any())).thenReturn(response);
+
+        // when
+        CompletableFuture<ResponseEntity<Object>> first = exchange.exchange(HttpMethod.GET, SEARCH, userHeaders(1), null);
+        CompletableFuture<ResponseEntity<Object>> second = exchange.exchange(HttpMethod.GET, SEARCH, userHeaders(2), null);
+        response.complete(ResponseEntity.ok(List.of()));
+
+        // then
+        assertThat(first.join(), sameInstance(second.join()));
+        assertThat(meterRegistry.get(CoalescingServerExchange.CALLS_METRIC)
+                .tags("endpoint", "/items/search", "result", "merged").counter().count(), equalTo(1.0));
+        verify(transport, times(1)).exchange(eq(HttpMethod.GET), eq(SEARCH), any(), any());
+    }
+
+    @Test
+    void exchange_guarded_onlyLeaderTakesPermitAndIsRecorded() {
+        // given
+        CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+        when(transport.exchange(eq(HttpMethod.GET), eq(SEARCH), any(), any())).thenReturn(response);
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("items");
+        Bulkhead bulkhead = Bulkhead.of("items", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        DownstreamGuard guard = new DownstreamGuard(circuitBreaker, CircuitBreaker.ofDefaults("items-streaming"), bulkhead);
+
+        // when
+        CompletableFuture<ResponseEntity<Object>> first = exchange.exchange(HttpMethod.GET, SEARCH, userHeaders(1), null, guard);
+        CompletableFuture<ResponseEntity<Object>> second = exchange.exchange(HttpMethod.GET, SEARCH, userHeaders(2), null, guard);
+        response.complete(ResponseEntity.ok(List.of()));
+
+        // then
+        assertThat(first.join(), sameInstance(second.join()));
+        assertThat(circuitBreaker.getMetrics().getNumberOfBufferedCalls(), equalTo(1));
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls(), equalTo(1));
+    }
+
+    @Test
+    void exchange_afterCompletion_callsServerAgain() {
+        // given
+        when(transport.exchange(eq(HttpMethod.GET), eq(SEARCH), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(List.of())));
+
+        // when
+        exchange.exchange(HttpMethod.GET, SEARCH, userHeaders(1), null).join();
+        exchange.exchange(HttpMethod.GET, SEARCH, userHeaders(1), null).join();
+
+        // then
+        verify(transport, times(2)).exchange(eq(HttpMethod.GET), eq(SEARCH), any(), any());
+    }
+
+    @Test
+    void exchange_userDependentEndpoint_differentUsersNotMerged() {
+        // given
+        when(transport.exchange(eq(HttpMethod.GET), eq(ALL_REQUESTS), any(), any()))
+                .thenReturn(new CompletableFuture<>(), new CompletableFuture<>());
+
+        // when
+        CompletableFuture<ResponseEntity<Object>> first = exchange.exchange(HttpMethod.GET, ALL_REQUESTS, userHeaders(1), null);
+        CompletableFuture<ResponseEntity<Object>> second = exchange.exchange(HttpMethod.GET, ALL_REQUESTS, userHeaders(2), null);
+        CompletableFuture<ResponseEntity<Object>> third = exchange.exchange(HttpMethod.GET, ALL_REQUESTS, userHeaders(1), null);
+
+        // then
+        assertThat(first, not(sameInstance(second)));
+        assertThat(first, sameInstance(third));
+        verify(transport, times(2)).exchange(eq(HttpMethod.GET), eq(ALL_REQUESTS), any(), any());
+    }
+
+    @Test
+    void exchange_notAllowListed_passesThrough() {
+        // given
+        when(transport.exchange(eq(HttpMethod.GET), eq(ITEM), any(), any()))
+                .thenReturn(new CompletableFuture<>(), new CompletableFuture<>());
+
+        // when
+        exchange.exchange(HttpMethod.GET, ITEM, userHeaders(1), null);
+        exchange.exchange(HttpMethod.GET, ITEM, userHeaders(1), null);
+
+        // then
+        verify(transport, times(2)).exchange(eq(HttpMethod.GET), eq(ITEM), any(), any());
+    }
+
+    private static HttpHeaders userHeaders(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(CoalescingServerExchange.USER_HEADER, String.valueOf(userId));
+        return headers;
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.DownstreamUnavailableException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DownstreamGuardTest {
+
+    private CircuitBreaker circuitBreaker;
+    private CircuitBreaker streamingCircuitBreaker;
+    private Bulkhead bulkhead;
+    private DownstreamGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerConfig breakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build();
+        circuitBreaker = CircuitBreaker.of("items", breakerConfig);
+        streamingCircuitBreaker = CircuitBreaker.of("items-streaming", breakerConfig);
+        bulkhead = Bulkhead.of("items", BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        guard = new DownstreamGuard(circuitBreaker, streamingCircuitBreaker, bulkhead);
+    }
+
+    @Test
+    void call_bulkheadFull_failsFastUntilCallCompletes() {
+        // given
+        CompletableFuture<ResponseEntity<Object>> first = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> second = new CompletableFuture<>();
+        guard.call(() -> first);
+        guard.call(() -> second);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when / then
+        assertThrows(DownstreamUnavailableException.class, () -> guard.call(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.ok(List.of()));
+        }));
+        assertThat(calls.get(), equalTo(0));
+
+        first.complete(ResponseEntity.ok(List.of()));
+        guard.call(() -> CompletableFuture.completedFuture(ResponseEntity.ok(List.of()))).join();
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls(), equalTo(1));
+    }
+
+    @Test
+    void call_serverErrors_openBreaker() {
+        // given
+        for (int i = 0; i < 2; i++) {
+            guard.call(() -> CompletableFuture.completedFuture(ResponseEntity.ok(List.of()))).join();
+            guard.call(() -> CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build())).join();
+        }
+
+        // when / then
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        assertThrows(DownstreamUnavailableException.class,
+                () -> guard.call(() -> CompletableFuture.completedFuture(ResponseEntity.ok(List.of()))));
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls(), equalTo(2));
+    }
+
+    @Test
+    void call_clientErrors_keepBreakerClosed() {
+        // when
+        for (int i = 0; i < 4; i++) {
+            guard.call(() -> CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).build())).join();
+        }
+
+        // then
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void call_synchronousFailure_recordedAndRethrown() {
+        // when / then
+        assertThrows(IllegalStateException.class, () -> guard.call(() -> {
+            throw new IllegalStateException("Connection refused");
+        }));
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls(), equalTo(1));
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls(), equalTo(2));
+    }
+
+    @Test
+    void run_serverErrorStatus_recordedAsFailureOfStreamingBreaker() throws IOException {
+        // when
+        guard.run(() -> HttpStatus.SERVICE_UNAVAILABLE);
+        guard.run(() -> HttpStatus.OK);
+
+        // then
+        assertThat(streamingCircuitBreaker.getMetrics().getNumberOfFailedCalls(), equalTo(1));
+        assertThat(streamingCircuitBreaker.getMetrics().getNumberOfSuccessfulCalls(), equalTo(1));
+        assertThat(circuitBreaker.getMetrics().getNumberOfBufferedCalls(), equalTo(0));
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls(), equalTo(2));
+    }
+
+    @Test
+    void run_clientAbort_notRecordedAsServerFailure() {
+        // given
+        IOException broken = new IOException("Broken pipe");
+
+        // when / then
+        assertThrows(ResourceAccessException.class, () -> guard.run(() -> {
+            throw new ResourceAccessException("I/O error", new DownstreamGuard.ClientSideException(broken));
+        }));
+        assertThrows(IOException.class, () -> guard.run(() -> {
+            throw new IOException("Connection reset by server");
+        }));
+        assertThat(streamingCircuitBreaker.getMetrics().getNumberOfBufferedCalls(), equalTo(1));
+        assertThat(streamingCircuitBreaker.getMetrics().getNumberOfFailedCalls(), equalTo(1));
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls(), equalTo(2));
+    }
+}
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+class HttpClientServerExchangeTest {
+
+    private static final int SLOW_CALLS = 200;
+    private static final long SLOW_CALL_MILLIS = 300;
+
+    private HttpServer server;
+    private HttpClientServerExchange exchange;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), SLOW_CALLS);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/items", http -> {
+            byte[] body = http.getRequestBody().readAllBytes();
+            String userId = http.getRequestHeaders().getFirst("X-Sharer-User-Id");
+            respond(http, 200, ("{\"userId\": " + userId + ", \"echo\": " + new String(body, StandardCharsets.UTF_8) + "}")
+                    .getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/slow", http -> {
+            sleepQuietly(SLOW_CALL_MILLIS);
+            respond(http, 200, "[]".getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/missing", http ->
+                respond(http, 404, "{\"error\": \"not found\"}".getBytes(StandardCharsets.UTF_8)));
+        server.start();
+
+        exchange = new HttpClientServerExchange(Executors.newFixedThreadPool(2), new ObjectMapper(), HttpClient.Version.HTTP_1_1,
+                Duration.ofSeconds(5), Duration.ofSeconds(10), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exchange.close();
+        server.stop(0);
+    }
+
+    @Test
+    void exchange_success_parsesJsonBody() throws Exception {
+        // given
+        HttpHeaders headers = jsonHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+
+        // when
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.POST, uri("/items"), headers,
+                Map.of("name", "Дрель")).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.getStatusCode().value(), equalTo(200));
+        assertThat(response.getBody(), equalTo(Map.of("userId", 7, "echo", Map.of("name", "Дрель"))));
+    }
+
+    @Test
+    void exchange_serverError_returnsStatusAndRawBody() throws Exception {
+        // when
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, uri("/missing"), jsonHeaders(), null)
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.getStatusCode().value(), equalTo(404));
+        assertThat(response.getBody(), instanceOf(byte[].class));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo("{\"error\": \"not found\"}"));
+    }
+
+    @Test
+    void exchange_passThrough_relaysBytesAndHeaders() throws Exception {
+        // given
+        HttpClientServerExchange passThrough = new HttpClientServerExchange(Executors.newFixedThreadPool(1),
+                new ObjectMapper(), HttpClient.Version.HTTP_1_1, Duration.ofSeconds(5), Duration.ofSeconds(10), true);
+        HttpHeaders headers = jsonHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+
+        // when
+        ResponseEntity<Object> response;
+        try {
+            response = passThrough.exchange(HttpMethod.POST, uri("/items"), headers,
+                    "{\"name\":  \"Дрель\"}".getBytes(StandardCharsets.UTF_8)).get(5, TimeUnit.SECONDS);
+        } finally {
+            passThrough.close();
+        }
+
+        // then
+        assertThat(response.getStatusCode().value(), equalTo(200));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH), equalTo(false));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8),
+                equalTo("{\"userId\": 7, \"echo\": {\"name\":  \"Дрель\"}}"));
+    }
+
+    @Test
+    void exchange_http2_fallsBackToHttp11WhenServerDoesNotUpgrade() throws Exception {
+        // given
+        HttpClientServerExchange http2 = new HttpClientServerExchange(Executors.newFixedThreadPool(1),
+                new ObjectMapper(), HttpClient.Version.HTTP_2, Duration.ofSeconds(5), Duration.ofSeconds(10), false);
+        HttpHeaders headers = jsonHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+
+        // when
+        ResponseEntity<Object> response;
+        try {
+            response = http2.exchange(HttpMethod.POST, uri("/items"), headers,
+                    Map.of("name", "Дрель")).get(5, TimeUnit.SECONDS);
+        } finally {
+            http2.close();
+        }
+
+        // then
+        assertThat(response.getStatusCode().value(), equalTo(200));
+        assertThat(response.getBody(), equalTo(Map.of("userId", 7, "echo", Map.of("name", "Дрель"))));
+    }
+
+    @Test
+    void exchange_manySlowCalls_waitConcurrentlyOnSmallPool() throws Exception {
+        // when
+        long start = System.nanoTime();
+        List<CompletableFuture<ResponseEntity<Object>>> calls = new ArrayList<>(SLOW_CALLS);
+        for (int i = 0; i < SLOW_CALLS; i++) {
+            calls.add(exchange.exchange(HttpMethod.GET, uri("/slow"), jsonHeaders(), null));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertThat(calls.stream().allMatch(call -> call.join().getStatusCode().is2xxSuccessful()), equalTo(true));
+        assertThat(elapsedMillis < SLOW_CALL_MILLIS * 10, equalTo(true));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return headers;
+    }
+
+    private static void respond(HttpExchange http, int status, byte[] body) throws IOException {
+        http.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+        http.sendResponseHeaders(status, body.length);
+        try (OutputStream out = http.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
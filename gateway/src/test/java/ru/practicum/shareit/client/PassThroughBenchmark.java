@@ -0,0 +1,130 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.ThreadMXBean;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/*
+    Сравнение CPU и выделенной памяти на один проксируемый запрос: разбор JSON в дерево объектов с повторной
+    сериализацией против передачи байтов в режиме pass-through. Измеряется поток, выполняющий запрос,
+    вместе с записью тела, которую для ответа шлюза делает Jackson. Не входит в обычный прогон тестов, запуск:
+    mvn -pl gateway test -Pbenchmark [-Dbenchmark.items=1000]
+*/
+@Slf4j
+class PassThroughBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 1_000);
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURE_ROUNDS = 5_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private RestTemplate rest;
+    private byte[] listBody;
+    private List<Map<String, Object>> batch;
+    private byte[] batchBody;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        List<Map<String, Object>> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(Map.of("id", i, "name", "Вещь " + i, "description", "Описание вещи " + i,
+                    "available", true, "lastBooking", Map.of("id", i, "bookerId", 2)));
+        }
+        listBody = objectMapper.writeValueAsBytes(items);
+        batch = items.subList(0, Math.min(ITEMS, 500));
+        batchBody = objectMapper.writeValueAsBytes(batch);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(2));
+        server.createContext("/items", http -> {
+            http.getRequestBody().readAllBytes();
+            byte[] body = "GET".equals(http.getRequestMethod()) ? listBody : "[]".getBytes();
+            http.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            http.sendResponseHeaders(200, body.length);
+            try (OutputStream out = http.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        rest = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void parsedVersusPassThrough() throws IOException {
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/items");
+        RestTemplateServerExchange parsed = new RestTemplateServerExchange(rest, false);
+        RestTemplateServerExchange passThrough = new RestTemplateServerExchange(rest, true);
+
+        report("GET списка, разбор", measure(() -> writeBody(parsed.exchange(HttpMethod.GET, uri, headers(), null).join())));
+        report("GET списка, pass-through", measure(() -> writeBody(passThrough.exchange(HttpMethod.GET, uri, headers(), null).join())));
+        report("POST пакета, сериализация", measure(() -> writeBody(parsed.exchange(HttpMethod.POST, uri, headers(), batch).join())));
+        report("POST пакета, исходные байты", measure(() -> writeBody(passThrough.exchange(HttpMethod.POST, uri, headers(), batchBody).join())));
+    }
+
+    // Запись тела в ответ шлюза: дерево объектов Jackson сериализует заново, байты копируются как есть
+    private byte[] writeBody(ResponseEntity<Object> response) {
+        try {
+            return response.getBody() instanceof byte[] bytes ? bytes : objectMapper.writeValueAsBytes(response.getBody());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return headers;
+    }
+
+    private static Measurement measure(Runnable call) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            call.run();
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            call.run();
+        }
+        double cpuMicros = (threads.getCurrentThreadCpuTime() - cpuBefore) / 1_000.0 / MEASURE_ROUNDS;
+        long allocatedBytes = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / MEASURE_ROUNDS;
+        return new Measurement(cpuMicros, allocatedBytes);
+    }
+
+    private static void report(String scenario, Measurement measurement) {
+        log.info("{} ({} вещей): CPU {} мкс, {} КБ на запрос", scenario, ITEMS,
+                String.format("%.1f", measurement.cpuMicros()), measurement.allocatedBytes() / 1024);
+    }
+
+    private record Measurement(double cpuMicros, long allocatedBytes) {
+    }
+}
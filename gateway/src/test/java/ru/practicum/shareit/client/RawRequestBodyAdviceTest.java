@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@WebMvcTest(controllers = ItemController.class, properties = "shareit-server.client.pass-through=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class RawRequestBodyAdviceTest {
+
+    private final MockMvc mockMvc;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Test
+    void validatedBody_forwardedAsOriginalBytes() throws Exception {
+        // given
+        String body = """
+                [ {"name": "Дрель",   "description": "Ударная", "available": true} ]
+                """;
+        AtomicReference<Object> forwarded = new AtomicReference<>();
+        when(itemClient.createItems(eq(1L), anyList())).thenAnswer(invocation -> {
+            forwarded.set(RawRequestBodies.originalOr(invocation.getArgument(1)));
+            return CompletableFuture.completedFuture(ResponseEntity.ok(List.of()));
+        });
+
+        // when
+        mockMvc.perform(post("/items/batch")
+                .header("X-Sharer-User-Id", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(forwarded.get(), instanceOf(byte[].class));
+        assertThat(new String((byte[]) forwarded.get(), StandardCharsets.UTF_8), equalTo(body));
+    }
+
+    @Test
+    void otherObject_serializedAsUsual() throws Exception {
+        // given
+        AtomicReference<Object> forwarded = new AtomicReference<>();
+        when(itemClient.createItems(eq(1L), any())).thenAnswer(invocation -> {
+            forwarded.set(RawRequestBodies.originalOr(List.of()));
+            return CompletableFuture.completedFuture(ResponseEntity.ok(List.of()));
+        });
+
+        // when
+        mockMvc.perform(post("/items/batch")
+                .header("X-Sharer-User-Id", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}]"));
+
+        // then
+        assertThat(forwarded.get(), equalTo(List.of()));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "shareit-server.pool.max-total=40",
+                "shareit-server.pool.max-per-route=20"
+        }
+)
+class ServerConnectionPoolConfigTest {
+
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final HttpComponentsClientHttpRequestFactory serverRequestFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void restTemplates_shareOneRequestFactory() {
+        // when
+        RestTemplate first = restTemplateBuilder.build();
+        RestTemplate second = restTemplateBuilder.rootUri("http://localhost:9090/items").build();
+
+        // then
+        assertThat(first.getRequestFactory(), sameInstance(serverRequestFactory));
+        assertThat(second.getRequestFactory(), sameInstance(serverRequestFactory));
+    }
+
+    @Test
+    void poolMetrics_exposeLimitsAndConnectionStates() {
+        // then
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value(), equalTo(40.0));
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default").gauge().value(), equalTo(20.0));
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.connections").tag("state", "leased").gauge(),
+                notNullValue());
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.connections").tag("state", "available").gauge(),
+                notNullValue());
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.pending").gauge(), notNullValue());
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit-server.client.http2=true"
+)
+class ServerHttp2ConfigTest {
+
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final JdkClientHttpRequestFactory serverRequestFactory;
+    private final HttpClient serverHttp2Client;
+    private final ApplicationContext context;
+
+    @Test
+    void restTemplates_useHttp2ClientInsteadOfConnectionPool() {
+        // when
+        RestTemplate restTemplate = restTemplateBuilder.build();
+
+        // then
+        assertThat(restTemplate.getRequestFactory(), sameInstance(serverRequestFactory));
+        assertThat(serverHttp2Client.version(), equalTo(HttpClient.Version.HTTP_2));
+        assertThat(context.getBeansOfType(ServerConnectionPoolConfig.class), anEmptyMap());
+    }
+}
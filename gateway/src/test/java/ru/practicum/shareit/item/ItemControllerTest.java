@@ -7,13 +7,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -44,6 +54,61 @@ class ItemControllerTest {
         verifyNoInteractions(itemClient);
     }
 
+    @Test
+    void createItems_invalidElement_returns400() throws Exception {
+        // given
+        Long ownerId = 1L;
+        List<NewItemDto> batch = List.of(
+                new NewItemDto("Дрель", "Ударная", true, null),
+                new NewItemDto("Палатка", "  ", true, null));
+
+        // when/then
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(batch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        // verify
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void createItems_emptyList_returns400() throws Exception {
+        // when/then
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        // verify
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void createItems_valid_forwardedToServer() throws Exception {
+        // given
+        Long ownerId = 1L;
+        List<NewItemDto> batch = List.of(new NewItemDto("Дрель", "Ударная", true, null));
+        when(itemClient.createItems(ownerId, batch))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(List.of())));
+
+        // when/then
+        MvcResult result = mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(batch)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        // verify
+        verify(itemClient).createItems(ownerId, batch);
+    }
+
     @Test
     void addComment_blankText_returns400() throws Exception {
         // given
@@ -62,4 +127,39 @@ class ItemControllerTest {
         // verify
         verifyNoInteractions(itemClient);
     }
+
+    @Test
+    void suggest_tooLargeLimit_returns400() throws Exception {
+        // given
+        Long userId = 2L;
+
+        // when/then
+        mockMvc.perform(get("/items/suggest")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("prefix", "дре")
+                        .param("limit", "51"))
+                .andExpect(status().isBadRequest());
+
+        // verify
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void suggest_blankPrefix_returnsEmpty_andNoClientCall() throws Exception {
+        // given
+        Long userId = 2L;
+
+        // when/then
+        MvcResult result = mockMvc.perform(get("/items/suggest")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("prefix", "  "))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+
+        // verify
+        verifyNoInteractions(itemClient);
+    }
 }
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(1_000, Duration.ofMinutes(10), Map.of(
+                "items", new RateLimitProperties.Limit(0.1, 2)));
+        filter = new RateLimitFilter(new RateLimiter(properties), new ObjectMapper());
+    }
+
+    @Test
+    void filter_overLimit_returns429WithRetryAfter() throws Exception {
+        // given
+        perform("/items/search", "1");
+        perform("/items/search", "1");
+
+        // when
+        MockHttpServletResponse response = perform("/items/search", "1");
+
+        // then
+        assertThat(response.getStatus(), equalTo(429));
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER), notNullValue());
+        assertThat(Long.parseLong(response.getHeader(HttpHeaders.RETRY_AFTER)) >= 1, equalTo(true));
+        assertThat(response.getContentAsString(), containsString("Слишком много запросов"));
+    }
+
+    @Test
+    void filter_bucketsPerUserAndGroup() throws Exception {
+        // given
+        perform("/items", "1");
+        perform("/items/search", "1");
+
+        // when / then
+        assertThat(perform("/items/1", "2").getStatus(), equalTo(200));
+        assertThat(perform("/bookings/owner", "1").getStatus(), equalTo(200));
+        assertThat(perform("/items/1", "1").getStatus(), equalTo(429));
+    }
+
+    @Test
+    void filter_withoutUser_notLimited() throws Exception {
+        // when / then
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform("/items/search", null).getStatus(), equalTo(200));
+        }
+    }
+
+    @Test
+    void filter_dotSegment_countedInSameGroup() throws Exception {
+        assertSameGroupAsItems("/./items/search");
+    }
+
+    @Test
+    void filter_repeatedSlash_countedInSameGroup() throws Exception {
+        assertSameGroupAsItems("//items/search");
+    }
+
+    @Test
+    void filter_percentEncodedSegment_countedInSameGroup() throws Exception {
+        assertSameGroupAsItems("/%69tems/search");
+    }
+
+    @Test
+    void filter_pathParameter_countedInSameGroup() throws Exception {
+        assertSameGroupAsItems("/items;x=1/search");
+    }
+
+    private void assertSameGroupAsItems(String uri) throws Exception {
+        // given
+        perform("/items/search", "1");
+        perform("/items/search", "1");
+
+        // when / then
+        assertThat(perform(uri, "1").getStatus(), equalTo(429));
+    }
+
+    private MockHttpServletResponse perform(String uri, String userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+    Пропускная способность решений RateLimiter: один поток и по потоку на ядро, случайные пользователи
+    из пула и горячий пользователь, упирающийся в лимит. Не входит в обычный прогон тестов, запуск:
+    mvn -pl gateway test -Pbenchmark [-Dbenchmark.decisions=10000000]
+*/
+@Slf4j
+class RateLimiterBenchmark {
+
+    private static final int DECISIONS = Integer.getInteger("benchmark.decisions", 10_000_000);
+    private static final int USERS = 10_000;
+
+    @Test
+    void decisionsPerSecond() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(100_000, Duration.ofMinutes(10), Map.of(
+                "items", new RateLimitProperties.Limit(20, 40))));
+
+        run(rateLimiter, 1, DECISIONS / 10);
+        report("1 поток, разные пользователи", 1, run(rateLimiter, 1, DECISIONS));
+        report("1 поток, один пользователь", 1, runHot(rateLimiter, DECISIONS));
+        int cores = Runtime.getRuntime().availableProcessors();
+        report(cores + " потоков, разные пользователи", cores, run(rateLimiter, cores, DECISIONS));
+    }
+
+    private static double run(RateLimiter rateLimiter, int threads, int decisions) throws Exception {
+        int perThread = decisions / threads;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<Long>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long allowed = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        if (rateLimiter.tryAcquire("items", random.nextInt(USERS)) == 0) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            for (Future<Long> future : futures) {
+                future.get();
+            }
+        }
+        return (double) perThread * threads / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static double runHot(RateLimiter rateLimiter, int decisions) {
+        long start = System.nanoTime();
+        long allowed = 0;
+        for (int i = 0; i < decisions; i++) {
+            if (rateLimiter.tryAcquire("items", -1) == 0) {
+                allowed++;
+            }
+        }
+        log.debug("Пропущено запросов горячего пользователя: {}", allowed);
+        return decisions / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static void report(String scenario, int threads, double decisionsPerSecond) {
+        log.info("{}: {} решений/с, {} на поток", scenario, String.format("%.0f", decisionsPerSecond),
+                String.format("%.0f", decisionsPerSecond / threads));
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_burstThenRejected_untilRefilled() {
+        // given
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 1_000 * SECOND;
+
+        // when / then
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(now), equalTo(0L));
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        assertThat(waitNanos, equalTo(SECOND / 10));
+        assertThat(bucket.tryAcquire(now + waitNanos), equalTo(0L));
+        assertThat(bucket.tryAcquire(now + waitNanos), greaterThan(0L));
+    }
+
+    @Test
+    void tryAcquire_idleBucket_refillsOnlyToCapacity() {
+        // given
+        TokenBucket bucket = new TokenBucket(10, 2);
+        long now = -5 * SECOND;
+
+        // when
+        bucket.tryAcquire(now);
+        long later = now + 60 * SECOND;
+
+        // then
+        assertThat(bucket.tryAcquire(later), equalTo(0L));
+        assertThat(bucket.tryAcquire(later), equalTo(0L));
+        assertThat(bucket.tryAcquire(later), greaterThan(0L));
+    }
+}
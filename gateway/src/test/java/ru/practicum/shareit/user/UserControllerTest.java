@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.NewUserDto;
 
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -25,6 +31,30 @@ public class UserControllerTest {
     @MockBean
     private UserClient userClient;
 
+    @Test
+    void importUsers_ndjson_forwardedToServerAsStream() throws Exception {
+        // given
+        String body = "{\"name\": \"anna\", \"email\": \"anna@mail.com\"}\n";
+        doAnswer(invocation -> {
+            InputStream in = invocation.getArgument(0);
+            HttpServletResponse response = invocation.getArgument(1);
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.getOutputStream().write(in.readAllBytes());
+            return null;
+        }).when(userClient).importUsers(any(), any());
+
+        // when/then
+        mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(body));
+
+        // verify
+        verify(userClient).importUsers(any(), any());
+    }
+
     @Test
     void createUser_emptyEmail_incorrectEmail_returns500() throws Exception {
         // given
@@ -1,20 +1,34 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
+
+import static ru.practicum.shareit.utils.NdjsonUtils.writeNdjson;
 
 @RestController
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
 public class BookingController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto createBooking(
@@ -33,6 +47,14 @@ public class BookingController {
         return bookingService.approve(ownerId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> approveBookings(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestBody List<BookingDecisionDto> decisions
+    ) {
+        return bookingService.approveAll(ownerId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -42,18 +64,48 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingDto> getBookingsByBooker(
+    public ResponseEntity<Collection<BookingDto>> getBookingsByBooker(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(value = "state", defaultValue = "ALL") BookingState state
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        return bookingService.getByBooker(userId, state);
+        return toResponse(bookingService.getByBooker(userId, state, limit, cursor));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamBookingsByBooker(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+            HttpServletResponse response
+    ) throws IOException {
+        writeNdjson(response, objectMapper, action -> bookingService.streamByBooker(userId, state, action));
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDto> getBookingsByOwner(
+    public ResponseEntity<Collection<BookingDto>> getBookingsByOwner(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
-            @RequestParam(value = "state", defaultValue = "ALL") BookingState state
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        return bookingService.getByOwner(ownerId, state);
+        return toResponse(bookingService.getByOwner(ownerId, state, limit, cursor));
+    }
+
+    @GetMapping(value = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+            HttpServletResponse response
+    ) throws IOException {
+        writeNdjson(response, objectMapper, action -> bookingService.streamByOwner(ownerId, state, action));
+    }
+
+    private static ResponseEntity<Collection<BookingDto>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return responseBuilder.body(page.getBookings());
     }
 }
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.dto;
+
+public enum BookingDecisionOutcome {
+    APPROVED,
+    REJECTED,
+    NOT_FOUND,
+    FORBIDDEN,
+    NOT_WAITING,
+    DUPLICATE
+}
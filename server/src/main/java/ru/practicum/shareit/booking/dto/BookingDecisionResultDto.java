@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+
+/*
+    Итог решения по одному бронированию из пакета: применённый статус либо причина отказа
+*/
+@Value
+public class BookingDecisionResultDto {
+    Long bookingId;
+    BookingDecisionOutcome outcome;
+    String error;
+}
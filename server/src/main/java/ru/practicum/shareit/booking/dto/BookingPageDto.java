@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class BookingPageDto {
+    List<BookingDto> bookings;
+    String nextCursor; // null, если следующей страницы нет
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.mapper;
 import org.mapstruct.*;
 import ru.practicum.shareit.booking.dto.*;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -19,6 +20,13 @@ public interface BookingMapper {
     @Mapping(target = "booker", source = "booking.booker")
     BookingDto toBookingDto(Booking booking);
 
+    default BookingDto toBookingDto(BookingView view) {
+        return new BookingDto(view.getId(), view.getStart(), view.getEnd(),
+                new BookingItemDto(view.getItemId(), view.getItemName()),
+                new BookingBookerDto(view.getBookerId()),
+                view.getStatus());
+    }
+
     default BookingItemDto map(Item item) {
         return new BookingItemDto(item.getId(), item.getName());
     }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+/*
+    Данные бронирования, нужные для решения владельца: чья вещь и текущий статус
+*/
+@Value
+public class BookingApprovalView {
+    Long id;
+    Long ownerId;
+    BookingStatus status;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/*
+    Строка списка бронирований: только колонки, нужные для BookingDto.
+    Выбирается конструктором в JPQL, поэтому не попадает в контекст персистентности и не проверяется на изменения
+*/
+@Value
+public class BookingView {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    Long itemId;
+    String itemName;
+    Long bookerId;
+    BookingStatus status;
+}
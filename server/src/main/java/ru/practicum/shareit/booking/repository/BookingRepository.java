@@ -1,48 +1,176 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalView;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Optional;
+import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     /*
-        Запросы по поиску информации о вещах букером
+        Есть ли активное бронирование вещи, пересекающееся с [start, end): start < end другого и end > start другого
     */
-    @EntityGraph(attributePaths = {"item", "booker"})
-    Collection<Booking> findByBooker_IdOrderByStartDesc(Long bookerId);
+    boolean existsByItem_IdAndStatusInAndStartBeforeAndEndAfter(Long itemId,
+                                                                Collection<BookingStatus> statuses,
+                                                                LocalDateTime end,
+                                                                LocalDateTime start);
 
-    @EntityGraph(attributePaths = {"item", "booker"})
-    Collection<Booking> findByBooker_IdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(Long bookerId,
-                                                                                                   LocalDateTime start,
-                                                                                                   LocalDateTime end);
+    /*
+        Запросы по поиску информации о вещах букером.
+        Выдача упорядочена по (start, id) по убыванию, страница начинается строго после курсора (cursorStart, cursorId).
+        Сравнение строк (start, id) < (...) без OR позволяет БД читать индекс диапазоном от курсора; первая страница
+        запрашивается с курсором после всех бронирований. Строки выбираются проекцией BookingView, без сущностей
+    */
+    @Query("""
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
+            from Booking b
+            join b.item i
+            where b.booker.id = :bookerId
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
+            """)
+    List<BookingView> findAllByBooker(@Param("bookerId") Long bookerId,
+                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                      @Param("cursorId") Long cursorId,
+                                      Limit limit);
 
-    @EntityGraph(attributePaths = {"item", "booker"})
-    Collection<Booking> findByBooker_IdAndEndLessThanOrderByStartDesc(Long bookerId, LocalDateTime end);
+    @Query("""
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
+            from Booking b
+            join b.item i
+            where b.booker.id = :bookerId
+                and b.start <= :now
+                and b.end >= :now
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
+            """)
+    List<BookingView> findCurrentByBooker(@Param("bookerId") Long bookerId,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Limit limit);
+
+    @Query("""
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
+            from Booking b
+            join b.item i
+            where b.booker.id = :bookerId
+                and b.end < :now
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
+            """)
+    List<BookingView> findPastByBooker(@Param("bookerId") Long bookerId,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Limit limit);
+
+    @Query("""
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
+            from Booking b
+            join b.item i
+            where b.booker.id = :bookerId
+                and b.start > :now
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
+            """)
+    List<BookingView> findFutureByBooker(@Param("bookerId") Long bookerId,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") Long cursorId,
+                                         Limit limit);
+
+    @Query("""
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
+            from Booking b
+            join b.item i
+            where b.booker.id = :bookerId
+                and b.status = :status
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
+            """)
+    List<BookingView> findByBookerAndStatus(@Param("bookerId") Long bookerId,
+                                            @Param("status") BookingStatus status,
+                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") Long cursorId,
+                                            Limit limit);
 
-    @EntityGraph(attributePaths = {"item", "booker"})
-    Collection<Booking> findByBooker_IdAndStartGreaterThanOrderByStartDesc(Long bookerId, LocalDateTime start);
+    /*
+        Пакетное решение владельца: проверка владельца и статуса всех бронирований одним запросом
+        и применение решений одним UPDATE только к тем, кто всё ещё ждёт решения
+    */
+    @Query("""
+            select new ru.practicum.shareit.booking.model.BookingApprovalView(
+                b.id, i.owner, b.status)
+            from Booking b
+            join b.item i
+            where b.id in :ids
+            """)
+    List<BookingApprovalView> findApprovalViews(@Param("ids") Collection<Long> ids);
 
-    @EntityGraph(attributePaths = {"item", "booker"})
-    Collection<Booking> findByBooker_IdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Booking b
+            set b.status = case when b.id in :approvedIds then :approved else :rejected end
+            where b.id in :ids
+                and b.status = :waiting
+            """)
+    int decideWaiting(@Param("ids") Collection<Long> ids,
+                      @Param("approvedIds") Collection<Long> approvedIds,
+                      @Param("approved") BookingStatus approved,
+                      @Param("rejected") BookingStatus rejected,
+                      @Param("waiting") BookingStatus waiting);
 
     /*
-        Запросы по статусу и времени бронирования
+        Запросы последних и ближайших бронирований сразу для набора вещей
     */
-    Optional<Booking> findTopByItem_IdAndStatusAndStartLessThanEqualOrderByStartDesc(Long itemId,
-                                                                                     BookingStatus status,
-                                                                                     LocalDateTime now);
+    @Query("""
+            select b
+            from Booking b
+            where b.item.id in :itemIds
+                and b.status = :status
+                and b.start = (
+                    select max(b2.start)
+                    from Booking b2
+                    where b2.item = b.item
+                        and b2.status = :status
+                        and b2.start <= :now
+                )
+            """)
+    Collection<Booking> findLastByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                          @Param("status") BookingStatus status,
+                                          @Param("now") LocalDateTime now);
 
-    Optional<Booking> findTopByItem_IdAndStatusAndStartGreaterThanOrderByStartAsc(Long itemId,
-                                                                                  BookingStatus status,
-                                                                                  LocalDateTime now);
+    @Query("""
+            select b
+            from Booking b
+            where b.item.id in :itemIds
+                and b.status = :status
+                and b.start = (
+                    select min(b2.start)
+                    from Booking b2
+                    where b2.item = b.item
+                        and b2.status = :status
+                        and b2.start > :now
+                )
+            """)
+    Collection<Booking> findNextByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                          @Param("status") BookingStatus status,
+                                          @Param("now") LocalDateTime now);
 
     /*
         Запрос проверки вещи на историю бронирования
@@ -54,64 +182,84 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
 
     /*
-        Запросы по поиску информации о вещах владельцем
+        Запросы по поиску информации о вещах владельцем, с той же постраничной выдачей, что и для букера
     */
     @Query("""
-            select b
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
             from Booking b
-            join fetch b.item i
-            join fetch b.booker u
+            join b.item i
             where i.owner = :ownerId
-            order by b.start desc
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
             """)
-    Collection<Booking> findAllByOwner(@Param("ownerId") Long ownerId);
+    List<BookingView> findAllByOwner(@Param("ownerId") Long ownerId,
+                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                     @Param("cursorId") Long cursorId,
+                                     Limit limit);
 
     @Query("""
-            select b
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
             from Booking b
-            join fetch b.item i
-            join fetch b.booker u
+            join b.item i
             where i.owner = :ownerId
                 and b.start <= :now
                 and b.end >= :now
-            order by b.start desc
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
             """)
-    Collection<Booking> findCurrentByOwner(@Param("ownerId") Long ownerId,
-                                           @Param("now") LocalDateTime now);
+    List<BookingView> findCurrentByOwner(@Param("ownerId") Long ownerId,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") Long cursorId,
+                                         Limit limit);
 
     @Query("""
-            select b
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
             from Booking b
-            join fetch b.item i
-            join fetch b.booker u
+            join b.item i
             where i.owner = :ownerId
                 and b.end < :now
-            order by b.start desc
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
             """)
-    Collection<Booking> findPastByOwner(@Param("ownerId") Long ownerId,
-                                        @Param("now") LocalDateTime now);
+    List<BookingView> findPastByOwner(@Param("ownerId") Long ownerId,
+                                      @Param("now") LocalDateTime now,
+                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                      @Param("cursorId") Long cursorId,
+                                      Limit limit);
 
     @Query("""
-            select b
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
             from Booking b
-            join fetch b.item i
-            join fetch b.booker u
+            join b.item i
             where i.owner = :ownerId
                 and b.start > :now
-            order by b.start desc
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
             """)
-    Collection<Booking> findFutureByOwner(@Param("ownerId") Long ownerId,
-                                          @Param("now") LocalDateTime now);
+    List<BookingView> findFutureByOwner(@Param("ownerId") Long ownerId,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Limit limit);
 
     @Query("""
-            select b
+            select new ru.practicum.shareit.booking.model.BookingView(
+                b.id, b.start, b.end, i.id, i.name, b.booker.id, b.status)
             from Booking b
-            join fetch b.item i
-            join fetch b.booker u
+            join b.item i
             where i.owner = :ownerId
                 and b.status = :status
-            order by b.start desc
+                and (b.start, b.id) < (:cursorStart, :cursorId)
+            order by b.start desc, b.id desc
             """)
-    Collection<Booking> findByOwnerAndStatus(@Param("ownerId") Long ownerId,
-                                             @Param("status") BookingStatus status);
+    List<BookingView> findByOwnerAndStatus(@Param("ownerId") Long ownerId,
+                                           @Param("status") BookingStatus status,
+                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                           @Param("cursorId") Long cursorId,
+                                           Limit limit);
 }
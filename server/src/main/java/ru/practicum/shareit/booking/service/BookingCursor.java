@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/*
+    Позиция в выдаче бронирований: (start, id) последнего бронирования страницы.
+    Клиенту отдаётся в виде непрозрачной строки. FIRST стоит после всех бронирований - с него начинается
+    первая страница, так что запрос выдачи один и тот же для первой и следующих страниц
+*/
+@Value
+class BookingCursor {
+    static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "_";
+    private static final String MSG_INCORRECT_CURSOR = "Некорректный курсор: %s";
+
+    LocalDateTime start;
+    Long id;
+
+    String encode() {
+        String raw = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static BookingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIdx = raw.lastIndexOf(SEPARATOR);
+            return new BookingCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIdx)),
+                    Long.parseLong(raw.substring(separatorIdx + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new ValidationException(String.format(MSG_INCORRECT_CURSOR, cursor));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/*
+    Проверка пересечений бронирований вещи. Решение принимает только БД: строка вещи блокируется
+    (SELECT ... FOR UPDATE) до конца транзакции, и под блокировкой пересечение проверяется запросом,
+    так что параллельные бронирования одной вещи - в том числе с разных экземпляров сервера - идут по очереди.
+    Копии интервалов в памяти нет: она не видит отмен и отказов на других экземплярах
+*/
+@Component
+@RequiredArgsConstructor
+class BookingOverlapGuard {
+
+    private static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final String MSG_BOOKING_OVERLAPS = "Вещь уже забронирована на пересекающийся период";
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+
+    /*
+        Проверяет, что период свободен, и сохраняет бронирование. Вызывается в пишущей транзакции:
+        блокировка вещи держится до её фиксации
+    */
+    Booking reserve(Long itemId, LocalDateTime start, LocalDateTime end, Supplier<Booking> saver) {
+        itemRepository.lockById(itemId);
+        if (bookingRepository.existsByItem_IdAndStatusInAndStartBeforeAndEndAfter(itemId, ACTIVE_STATUSES, end, start)) {
+            throw new ConflictException(MSG_BOOKING_OVERLAPS);
+        }
+        return saver.get();
+    }
+}
@@ -1,22 +1,32 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 
-import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto create(Long userId, NewBookingDto newBookingDto);
 
     BookingDto approve(Long ownerId, Long bookingId, boolean approved);
 
+    List<BookingDecisionResultDto> approveAll(Long ownerId, List<BookingDecisionDto> decisions);
+
     BookingDto get(Long userId, Long bookingId);
 
-    Collection<BookingDto> getByBooker(Long userId, BookingState state);
+    BookingPageDto getByBooker(Long userId, BookingState state, Integer limit, String cursor);
+
+    BookingPageDto getByOwner(Long ownerId, BookingState state, Integer limit, String cursor);
+
+    void streamByBooker(Long userId, BookingState state, Consumer<? super BookingDto> action);
 
-    Collection<BookingDto> getByOwner(Long ownerId, BookingState state);
+    void streamByOwner(Long ownerId, BookingState state, Consumer<? super BookingDto> action);
 
     Booking getBookingOrThrow(Long id);
 }
@@ -1,15 +1,23 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalView;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
@@ -18,8 +26,17 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.utils.StreamingUtils.FETCH_SIZE;
 import static ru.practicum.shareit.utils.ValidationUtils.requireFound;
 
 @Service
@@ -28,6 +45,7 @@ import static ru.practicum.shareit.utils.ValidationUtils.requireFound;
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
+    private final BookingOverlapGuard bookingOverlapGuard;
 
     private final UserService userService;
     private final ItemService itemService;
@@ -40,6 +58,9 @@ public class BookingServiceImpl implements BookingService {
     private static final String MSG_ONLY_ITEM_OWNER_CAN_MAKE_DECISION = "Только владелец вещи может принять решение";
     private static final String MSG_ONLY_CAN_CHANGE_STATUS_FROM_WAITING = "Изменение статуса возможно только из WAITING";
     private static final String MSG_ONLY_OWNER_OR_BOOKER_CAN_SEE_BROKING = "Бронирование доступно только владельцу или букеру";
+    private static final String MSG_INCORRECT_PAGE_LIMIT = "Размер страницы должен быть положительным: %d";
+    private static final String MSG_DUPLICATE_DECISION = "Решение по бронированию с ID %d уже есть в этом запросе";
+    private static final String MSG_DECISIONS_CONFLICT = "Статус части бронирований изменился во время обработки, повторите запрос";
 
     @Transactional
     @Override
@@ -57,7 +78,8 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingMapper.toBooking(dto, item, booker);
         booking.setStatus(BookingStatus.WAITING);
 
-        Booking saved = bookingRepository.save(booking);
+        Booking saved = bookingOverlapGuard.reserve(item.getId(), booking.getStart(), booking.getEnd(),
+                () -> bookingRepository.save(booking));
         return bookingMapper.toBookingDto(saved);
     }
 
@@ -80,6 +102,55 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toBookingDto(saved);
     }
 
+    /*
+        Те же правила, что и в approve, но для пакета: проверка всех бронирований одним запросом,
+        итог по каждому в порядке запроса, а принятые решения - одним UPDATE.
+        Если UPDATE затронул не все проверенные строки, статус кто-то успел поменять, и пакет откатывается
+    */
+    @Transactional
+    @Override
+    public List<BookingDecisionResultDto> approveAll(Long ownerId, List<BookingDecisionDto> decisions) {
+        Map<Long, BookingApprovalView> bookings = bookingRepository.findApprovalViews(decisions.stream()
+                        .map(BookingDecisionDto::getBookingId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(BookingApprovalView::getId, Function.identity()));
+
+        List<BookingDecisionResultDto> results = new ArrayList<>(decisions.size());
+        Set<Long> decided = new LinkedHashSet<>();
+        Set<Long> approvedIds = new HashSet<>();
+        for (BookingDecisionDto decision : decisions) {
+            Long bookingId = decision.getBookingId();
+            BookingApprovalView booking = bookings.get(bookingId);
+            if (decided.contains(bookingId)) {
+                results.add(refused(bookingId, BookingDecisionOutcome.DUPLICATE, String.format(MSG_DUPLICATE_DECISION, bookingId)));
+            } else if (booking == null) {
+                results.add(refused(bookingId, BookingDecisionOutcome.NOT_FOUND, String.format(MSG_BOOKING_BY_ID_NOT_EXISTS, bookingId)));
+            } else if (!booking.getOwnerId().equals(ownerId)) {
+                results.add(refused(bookingId, BookingDecisionOutcome.FORBIDDEN, MSG_ONLY_ITEM_OWNER_CAN_MAKE_DECISION));
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results.add(refused(bookingId, BookingDecisionOutcome.NOT_WAITING, MSG_ONLY_CAN_CHANGE_STATUS_FROM_WAITING));
+            } else {
+                decided.add(bookingId);
+                if (Boolean.TRUE.equals(decision.getApproved())) {
+                    approvedIds.add(bookingId);
+                    results.add(new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.APPROVED, null));
+                } else {
+                    results.add(new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.REJECTED, null));
+                }
+            }
+        }
+
+        if (!decided.isEmpty()) {
+            int updated = bookingRepository.decideWaiting(decided, approvedIds,
+                    BookingStatus.APPROVED, BookingStatus.REJECTED, BookingStatus.WAITING);
+            if (updated != decided.size()) {
+                throw new ConflictException(MSG_DECISIONS_CONFLICT);
+            }
+        }
+        return results;
+    }
+
     @Override
     public BookingDto get(Long userId, Long bookingId) {
         userService.existsByIdOrThrow(userId);
@@ -95,44 +166,135 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Collection<BookingDto> getByBooker(Long userId, BookingState state) {
+    public BookingPageDto getByBooker(Long userId, BookingState state, Integer limit, String cursor) {
         userService.existsByIdOrThrow(userId);
-        LocalDateTime now = LocalDateTime.now();
 
-        Collection<Booking> result = switch (state) {
-            case ALL -> bookingRepository.findByBooker_IdOrderByStartDesc(userId);
-            case CURRENT ->
-                    bookingRepository.findByBooker_IdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(userId, now, now);
-            case PAST -> bookingRepository.findByBooker_IdAndEndLessThanOrderByStartDesc(userId, now);
-            case FUTURE -> bookingRepository.findByBooker_IdAndStartGreaterThanOrderByStartDesc(userId, now);
-            case WAITING -> bookingRepository.findByBooker_IdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
-            case REJECTED -> bookingRepository.findByBooker_IdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED);
-        };
-        return result.stream()
-                .map(bookingMapper::toBookingDto)
-                .toList();
+        List<BookingView> result = findByBooker(
+                userId, state, LocalDateTime.now(), BookingCursor.decode(cursor), toPageLimit(limit));
+        return toPage(result, limit);
     }
 
     @Override
-    public Collection<BookingDto> getByOwner(Long ownerId, BookingState state) {
+    public BookingPageDto getByOwner(Long ownerId, BookingState state, Integer limit, String cursor) {
         userService.existsByIdOrThrow(ownerId);
+
+        List<BookingView> result = findByOwner(
+                ownerId, state, LocalDateTime.now(), BookingCursor.decode(cursor), toPageLimit(limit));
+        return toPage(result, limit);
+    }
+
+    @Override
+    public void streamByBooker(Long userId, BookingState state, Consumer<? super BookingDto> action) {
+        userService.existsByIdOrThrow(userId);
+
         LocalDateTime now = LocalDateTime.now();
+        streamPages(after -> findByBooker(userId, state, now, after, Limit.of(FETCH_SIZE)), action);
+    }
 
-        Collection<Booking> result = switch (state) {
-            case ALL -> bookingRepository.findAllByOwner(ownerId);
-            case CURRENT -> bookingRepository.findCurrentByOwner(ownerId, now);
-            case PAST -> bookingRepository.findPastByOwner(ownerId, now);
-            case FUTURE -> bookingRepository.findFutureByOwner(ownerId, now);
-            case WAITING -> bookingRepository.findByOwnerAndStatus(ownerId, BookingStatus.WAITING);
-            case REJECTED -> bookingRepository.findByOwnerAndStatus(ownerId, BookingStatus.REJECTED);
-        };
-        return result.stream()
-                .map(bookingMapper::toBookingDto)
-                .toList();
+    @Override
+    public void streamByOwner(Long ownerId, BookingState state, Consumer<? super BookingDto> action) {
+        userService.existsByIdOrThrow(ownerId);
+
+        LocalDateTime now = LocalDateTime.now();
+        streamPages(after -> findByOwner(ownerId, state, now, after, Limit.of(FETCH_SIZE)), action);
     }
 
     @Override
     public Booking getBookingOrThrow(Long id) {
         return requireFound(bookingRepository.findById(id), () -> String.format(MSG_BOOKING_BY_ID_NOT_EXISTS, id));
     }
+
+    private List<BookingView> findByBooker(Long userId,
+                                           BookingState state,
+                                           LocalDateTime now,
+                                           BookingCursor after,
+                                           Limit limit) {
+        BookingCursor position = after != null ? after : BookingCursor.FIRST;
+        LocalDateTime afterStart = position.getStart();
+        Long afterId = position.getId();
+
+        return switch (state) {
+            case ALL -> bookingRepository.findAllByBooker(userId, afterStart, afterId, limit);
+            case CURRENT -> bookingRepository.findCurrentByBooker(userId, now, afterStart, afterId, limit);
+            case PAST -> bookingRepository.findPastByBooker(userId, now, afterStart, afterId, limit);
+            case FUTURE -> bookingRepository.findFutureByBooker(userId, now, afterStart, afterId, limit);
+            case WAITING -> bookingRepository.findByBookerAndStatus(
+                    userId, BookingStatus.WAITING, afterStart, afterId, limit);
+            case REJECTED -> bookingRepository.findByBookerAndStatus(
+                    userId, BookingStatus.REJECTED, afterStart, afterId, limit);
+        };
+    }
+
+    private List<BookingView> findByOwner(Long ownerId,
+                                          BookingState state,
+                                          LocalDateTime now,
+                                          BookingCursor after,
+                                          Limit limit) {
+        BookingCursor position = after != null ? after : BookingCursor.FIRST;
+        LocalDateTime afterStart = position.getStart();
+        Long afterId = position.getId();
+
+        return switch (state) {
+            case ALL -> bookingRepository.findAllByOwner(ownerId, afterStart, afterId, limit);
+            case CURRENT -> bookingRepository.findCurrentByOwner(ownerId, now, afterStart, afterId, limit);
+            case PAST -> bookingRepository.findPastByOwner(ownerId, now, afterStart, afterId, limit);
+            case FUTURE -> bookingRepository.findFutureByOwner(ownerId, now, afterStart, afterId, limit);
+            case WAITING -> bookingRepository.findByOwnerAndStatus(
+                    ownerId, BookingStatus.WAITING, afterStart, afterId, limit);
+            case REJECTED -> bookingRepository.findByOwnerAndStatus(
+                    ownerId, BookingStatus.REJECTED, afterStart, afterId, limit);
+        };
+    }
+
+    /*
+        Потоковая выдача идёт теми же страницами по ключу (start, id), что и постраничная:
+        в памяти одновременно находится не больше одной страницы
+    */
+    private void streamPages(Function<BookingCursor, List<BookingView>> pageLoader,
+                             Consumer<? super BookingDto> action) {
+        BookingCursor after = null;
+        List<BookingView> page;
+        do {
+            page = pageLoader.apply(after);
+            page.stream()
+                    .map(bookingMapper::toBookingDto)
+                    .forEach(action);
+
+            if (!page.isEmpty()) {
+                BookingView last = page.getLast();
+                after = new BookingCursor(last.getStart(), last.getId());
+            }
+        } while (page.size() == FETCH_SIZE);
+    }
+
+    // Запрашивается на одну запись больше страницы, чтобы без отдельного count понять, есть ли следующая
+    private static Limit toPageLimit(Integer limit) {
+        if (limit == null) {
+            return Limit.unlimited();
+        }
+        if (limit < 1) {
+            throw new ValidationException(String.format(MSG_INCORRECT_PAGE_LIMIT, limit));
+        }
+        return Limit.of(limit + 1);
+    }
+
+    private static BookingDecisionResultDto refused(Long bookingId, BookingDecisionOutcome outcome, String error) {
+        return new BookingDecisionResultDto(bookingId, outcome, error);
+    }
+
+    private BookingPageDto toPage(List<BookingView> result, Integer limit) {
+        boolean hasNext = limit != null && result.size() > limit;
+        List<BookingView> page = hasNext ? result.subList(0, limit) : result;
+
+        String nextCursor = null;
+        if (hasNext) {
+            BookingView last = page.getLast();
+            nextCursor = new BookingCursor(last.getStart(), last.getId()).encode();
+        }
+
+        List<BookingDto> bookings = page.stream()
+                .map(bookingMapper::toBookingDto)
+                .toList();
+        return new BookingPageDto(bookings, nextCursor);
+    }
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+    Бин создаётся, только если основной источник данных - PostgreSQL (value = true)
+    или, наоборот, любая другая СУБД (value = false)
+*/
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(OnPostgresCondition.class)
+public @interface ConditionalOnPostgres {
+
+    boolean value() default true;
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+@Configuration
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2Config {
+
+    /*
+        Без TLS Spring Boot добавляет в коннектор Tomcat Http2Protocol с поддержкой h2c. По умолчанию он
+        допускает 100 потоков на соединение - меньше пула шлюза, и при полной нагрузке шлюзу пришлось бы открывать
+        новые соединения. Поднимаем лимит, чтобы весь трафик шлюза шёл в одном соединении
+    */
+    @Bean
+    TomcatConnectorCustomizer http2StreamsCustomizer(
+            @Value("${shareit.http2.max-concurrent-streams}") int maxConcurrentStreams) {
+        return connector -> Arrays.stream(connector.findUpgradeProtocols())
+                .filter(Http2Protocol.class::isInstance)
+                .map(Http2Protocol.class::cast)
+                .forEach(http2 -> {
+                    http2.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2.setMaxConcurrentStreamExecution(maxConcurrentStreams);
+                });
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+class OnPostgresCondition extends SpringBootCondition {
+
+    private static final String POSTGRES_URL_PREFIX = "jdbc:postgresql:";
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnPostgres.class.getName());
+        boolean expected = attributes == null || (boolean) attributes.get("value");
+
+        String url = context.getEnvironment().getProperty("spring.datasource.url", "");
+        boolean postgres = url.startsWith(POSTGRES_URL_PREFIX);
+        if (postgres == expected) {
+            return ConditionOutcome.match("spring.datasource.url: " + url);
+        }
+        return ConditionOutcome.noMatch("spring.datasource.url: " + url);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /*
+        Потоковые NDJSON-эндпоинты пишут ответ сами, но ошибка до начала выдачи обрабатывается ErrorHandler.
+        Разрешаем Jackson-конвертеру отдавать ErrorResponse и под Accept: application/x-ndjson
+        - одиночный JSON-объект является корректной NDJSON-строкой
+    */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(MappingJackson2HttpMessageConverter.class::cast)
+                .forEach(converter -> {
+                    List<MediaType> mediaTypes = new ArrayList<>(converter.getSupportedMediaTypes());
+                    mediaTypes.add(MediaType.APPLICATION_NDJSON);
+                    converter.setSupportedMediaTypes(mediaTypes);
+                });
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+import static ru.practicum.shareit.utils.TransactionUtils.afterCommit;
+
+/*
+    Чтение своих записей: после зафиксированной пишущей транзакции пользователя его read-only транзакции
+    в течение окна идут в основную БД, а не на реплику, которая могла ещё не догнать запись.
+    Пользователь запроса берётся из X-Sharer-User-Id и привязывается к потоку на время запроса
+*/
+public class ReadYourWrites {
+
+    private final ThreadLocal<Long> currentUser = new ThreadLocal<>();
+    private final Cache<Long, Boolean> recentWriters;
+
+    ReadYourWrites(Duration stickyWindow) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .build();
+    }
+
+    void bind(Long userId) {
+        currentUser.set(userId);
+    }
+
+    void unbind() {
+        currentUser.remove();
+    }
+
+    void recordWrite() {
+        recordWrite(currentUser.get());
+    }
+
+    /*
+        Явная отметка пользователя, которого ещё нет в заголовке запроса: например, только что созданного.
+        Его первые запросы после создания должны найти его в основной БД, а не на отстающей реплике
+    */
+    public void recordWrite(Long userId) {
+        if (userId != null) {
+            afterCommit(() -> recentWriters.put(userId, Boolean.TRUE));
+        }
+    }
+
+    boolean isPinnedToPrimary() {
+        Long userId = currentUser.get();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/*
+    Привязывает пользователя из X-Sharer-User-Id к потоку запроса для маршрутизации чтения.
+    Некорректный заголовок здесь не ошибка - его отклонит контроллер
+*/
+@RequiredArgsConstructor
+class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        readYourWrites.bind(parseUserId(request.getHeader(USER_ID_HEADER)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.unbind();
+        }
+    }
+
+    private static Long parseUserId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
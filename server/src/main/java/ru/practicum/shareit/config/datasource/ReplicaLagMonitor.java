@@ -0,0 +1,76 @@
+package ru.practicum.shareit.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+    Периодически опрашивает реплики запросом отставания в секундах. Реплика, которая отстала больше порога
+    или не ответила, выводится из маршрутизации до следующей удачной проверки.
+    До первой проверки все реплики считаются отстающими, и чтение идёт в основную БД
+*/
+@Slf4j
+class ReplicaLagMonitor {
+
+    private final List<JdbcTemplate> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile List<Integer> healthyReplicas = List.of();
+
+    ReplicaLagMonitor(List<? extends DataSource> replicas, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.replicas = replicas.stream()
+                .map(JdbcTemplate::new)
+                .toList();
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    List<Integer> healthyReplicas() {
+        return healthyReplicas;
+    }
+
+    void refresh() {
+        healthyReplicas = IntStream.range(0, replicas.size())
+                .filter(this::isInSync)
+                .boxed()
+                .toList();
+    }
+
+    private boolean isInSync(int replica) {
+        try {
+            Double lagSeconds = replicas.get(replica).queryForObject(lagQuery, Double.class);
+            boolean inSync = lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis();
+            if (!inSync) {
+                log.warn("Реплика {} отстаёт на {} с, чтение переведено на основную БД", replica, lagSeconds);
+            }
+            return inSync;
+        } catch (RuntimeException e) {
+            log.warn("Реплика {} недоступна, чтение переведено на основную БД: {}", replica, e.getMessage());
+            return false;
+        }
+    }
+}
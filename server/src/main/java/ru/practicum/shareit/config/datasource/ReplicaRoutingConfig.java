@@ -0,0 +1,98 @@
+package ru.practicum.shareit.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/*
+    Маршрутизация чтения на реплики включается заданием shareit.datasource.replicas.urls,
+    без него используется обычный источник данных из spring.datasource
+*/
+@Configuration
+@ConditionalOnProperty("shareit.datasource.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    ReadYourWrites readYourWrites(@Value("${shareit.datasource.replicas.sticky-window}") Duration stickyWindow) {
+        return new ReadYourWrites(stickyWindow);
+    }
+
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWrites readYourWrites) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWrites));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /*
+        Основной пул собирается так же, как его собрал бы Spring Boot: spring.datasource.hikari.* (размер пула,
+        таймауты) применяются, а пул как отдельный бин получает метрики hikaricp.*
+    */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            DataSourceProperties properties,
+            HikariDataSource primaryDataSource,
+            ReadYourWrites readYourWrites,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory,
+            @Value("${shareit.datasource.replicas.urls}") List<String> urls,
+            @Value("${shareit.datasource.replicas.username}") String username,
+            @Value("${shareit.datasource.replicas.password}") String password,
+            @Value("${shareit.datasource.replicas.lag-query}") String lagQuery,
+            @Value("${shareit.datasource.replicas.max-lag}") Duration maxLag,
+            @Value("${shareit.datasource.replicas.lag-check-interval}") Duration lagCheckInterval) {
+        List<HikariDataSource> replicas = IntStream.range(0, urls.size())
+                .mapToObj(index -> replica(properties, urls.get(index), username, password, index))
+                .toList();
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicas, lagQuery, maxLag, lagCheckInterval);
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, lagMonitor, readYourWrites,
+                entityManagerFactory);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource replica(DataSourceProperties properties,
+                                            String url,
+                                            String username,
+                                            String password,
+                                            int index) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica-" + index);
+        replica.setDriverClassName(properties.determineDriverClassName());
+        replica.setJdbcUrl(url.trim());
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setReadOnly(true);
+        return replica;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ru.practicum.shareit.utils.TransactionUtils.markReplicaRead;
+
+/*
+    Пишущие транзакции и всё вне транзакций идут в основную БД, read-only транзакции - по кругу на реплики,
+    которые не отстают. Ключ выбирается при получении соединения, поэтому источник оборачивается
+    в LazyConnectionDataSourceProxy: к этому моменту признак read-only транзакции уже выставлен.
+    Транзакция, ушедшая на реплику, не наполняет общие кэши: сессия Hibernate переводится в CacheMode.GET
+    (кэш второго уровня и кэш запросов только читаются), а кэши приложения проверяют TransactionUtils.isReplicaRead
+*/
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+    // Фабрика создаётся после источника данных, поэтому берётся лениво
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    ReplicaRoutingDataSource(HikariDataSource primary,
+                             List<HikariDataSource> replicas,
+                             ReplicaLagMonitor lagMonitor,
+                             ReadYourWrites readYourWrites,
+                             ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.entityManagerFactory = entityManagerFactory;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        lagMonitor.start();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWrite();
+            return PRIMARY;
+        }
+        if (readYourWrites.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+
+        List<Integer> healthy = lagMonitor.healthyReplicas();
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        Integer replica = healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+        onReplicaRead();
+        return replica;
+    }
+
+    private void onReplicaRead() {
+        markReplicaRead();
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory != null
+                && TransactionSynchronizationManager.getResource(factory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    void refreshReplicaLag() {
+        lagMonitor.refresh();
+    }
+
+    @Override
+    public void destroy() {
+        lagMonitor.stop();
+        // Основной пул - отдельный бин и закрывается контейнером
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.config.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Ограничивает число одновременно выполняемых запросов. Лишние виртуальные потоки ждут разрешения
+    в очереди семафора, а не соединения в Hikari, где ожидание дороже и заканчивается ошибкой 500.
+    Не дождавшийся разрешения запрос получает 503.
+    Actuator и потоковые NDJSON-запросы (импорт и выгрузки) не ограничиваются: первым нужен ответ
+    именно под нагрузкой, вторые держат разрешение на всё время передачи и вытесняли бы короткие запросы
+*/
+@Slf4j
+class ConnectionPermitFilter extends OncePerRequestFilter {
+
+    static final String MSG_OVERLOADED = "Сервер перегружен, повторите запрос позже";
+
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final Duration permitTimeout;
+    private final String actuatorPath;
+
+    ConnectionPermitFilter(ObjectMapper objectMapper,
+                           int maxConcurrentRequests,
+                           Duration permitTimeout,
+                           String actuatorPath) {
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.permitTimeout = permitTimeout;
+        this.actuatorPath = actuatorPath;
+    }
+
+    // Путь берётся из getServletPath: контейнер уже декодировал и нормализовал его
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return path.equals(actuatorPath)
+                || path.startsWith(actuatorPath + "/")
+                || isNdjson(request.getContentType())
+                || isNdjson(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!acquire()) {
+            log.warn("Нет свободного разрешения за {} для {} {}", permitTimeout, request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(MSG_OVERLOADED));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static boolean isNdjson(String mediaTypes) {
+        return mediaTypes != null && mediaTypes.contains(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(permitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
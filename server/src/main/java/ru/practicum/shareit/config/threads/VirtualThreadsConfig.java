@@ -0,0 +1,45 @@
+package ru.practicum.shareit.config.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/*
+    Режим виртуальных потоков включается spring.threads.virtual.enabled=true: Tomcat и applicationTaskExecutor
+    выполняют задачи в виртуальных потоках, и транзакционные вызовы сервисов идут в потоке запроса.
+    Число потоков больше не ограничивает нагрузку на БД, поэтому одновременные запросы ограничиваются
+    под размер пула соединений, а закрепление виртуальных потоков за несущими отслеживается через JFR.
+    Собственный код не блокируется внутри synchronized и внутри вычислений Caffeine: общие структуры
+    защищены ReentrantLock, а загрузка в кэши идёт вне compute. Оставшиеся закрепления - в драйвере JDBC
+    и Hibernate, их и показывает метрика закреплений
+*/
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    FilterRegistrationBean<ConnectionPermitFilter> connectionPermitFilter(
+            ObjectMapper objectMapper,
+            @Value("${shareit.threads.virtual.max-concurrent-requests}") int maxConcurrentRequests,
+            @Value("${shareit.threads.virtual.permit-timeout}") Duration permitTimeout,
+            @Value("${management.endpoints.web.base-path:/actuator}") String actuatorPath) {
+        FilterRegistrationBean<ConnectionPermitFilter> registration = new FilterRegistrationBean<>(
+                new ConnectionPermitFilter(objectMapper, maxConcurrentRequests, permitTimeout, actuatorPath));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${shareit.threads.virtual.pinning-threshold}") Duration pinningThreshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, pinningThreshold);
+    }
+}
@@ -1,17 +1,25 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
+
+import static ru.practicum.shareit.utils.NdjsonUtils.writeNdjson;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto createItem(
@@ -21,6 +29,14 @@ public class ItemController {
         return itemService.add(newItemDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> createItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<NewItemDto> newItemDtos
+    ) {
+        return itemService.addAll(newItemDtos, userId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -45,6 +61,14 @@ public class ItemController {
         return itemService.findAllWithBookingsByOwnerId(ownerId);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllItemsOfOwner(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            HttpServletResponse response
+    ) throws IOException {
+        writeNdjson(response, objectMapper, action -> itemService.streamAllWithBookingsByOwnerId(ownerId, action));
+    }
+
     @GetMapping("/search")
     public Collection<ItemDto> searchItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -53,6 +77,15 @@ public class ItemController {
         return itemService.searchAvailableItems(text);
     }
 
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        return itemService.suggestNames(prefix, limit);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -1,31 +1,100 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.utils.StreamingUtils;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "itemsByOwner")
+    })
     Collection<Item> findAllByOwner(Long ownerId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + StreamingUtils.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Item> streamAllByOwner(Long ownerId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + StreamingUtils.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Item> streamAllByAvailableTrue();
+
+    /*
+        Блокировка строки вещи до конца транзакции: бронирования одной вещи проверяются и вставляются по очереди
+    */
+    @Query(value = "select id from items where id = :itemId for update", nativeQuery = true)
+    Long lockById(@Param("itemId") Long itemId);
+
     @Query("""
             select i from Item i
             where i.available = :isAvailable
             and (
-                upper(i.name) like upper(concat('%', :nameText, '%'))
-            	or upper(i.description) like upper(concat('%', :descText, '%'))
+                upper(i.name) like upper(concat('%', :nameText, '%')) escape '\\'
+            	or upper(i.description) like upper(concat('%', :descText, '%')) escape '\\'
             )
             """)
     Collection<Item> search(@Param("nameText") String nameText,
                             @Param("descText") String descText,
                             @Param("isAvailable") boolean isAvailable);
 
+    /*
+        Нечёткий поиск через pg_trgm, только для PostgreSQL.
+        Выражение translate(lower(...)) должно совпадать с выражением GIN-индексов в schema-postgresql.sql
+    */
+    @Query(value = "select set_config('pg_trgm.word_similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") String threshold);
+
+    @Query(value = """
+            select i.* from items i
+            where i.is_available = true
+            and (
+                :text <% translate(lower(i.name), 'ё', 'е')
+                or :text <% translate(lower(i.description), 'ё', 'е')
+            )
+            order by greatest(
+                word_similarity(:text, translate(lower(i.name), 'ё', 'е')),
+                word_similarity(:text, translate(lower(i.description), 'ё', 'е'))
+            ) desc, i.id
+            limit :limit
+            """, nativeQuery = true)
+    List<Item> searchByWordSimilarity(@Param("text") String text, @Param("limit") int limit);
+
+    /*
+        Полнотекстовый поиск по колонке search_vector, только для PostgreSQL.
+        Запрос разбирается в обеих конфигурациях, чтобы находились и русские, и английские словоформы
+    */
+    @Query(value = """
+            select i.* from items i
+            cross join lateral (
+                select websearch_to_tsquery('russian', :text) || websearch_to_tsquery('english', :text) as q
+            ) query
+            where i.is_available = true
+            and i.search_vector @@ query.q
+            order by ts_rank(i.search_vector, query.q) desc, i.id
+            """, nativeQuery = true)
+    List<Item> searchFullText(@Param("text") String text);
+
     /*
         Запросы по поиску информации по запросам вещей
     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "itemsByRequest")
+    })
     Collection<Item> findAllByRequest(Long requestId);
 
     Collection<Item> findAllByRequestIn(Collection<Long> requestIds);
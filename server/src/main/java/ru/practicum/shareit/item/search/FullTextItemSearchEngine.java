@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.ConditionalOnPostgres;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/*
+    Полнотекстовый поиск PostgreSQL по генерируемой колонке search_vector (русская и английская конфигурации)
+    с ранжированием ts_rank. Колонка и её GIN-индекс поддерживаются самой БД, см. schema-postgresql.sql
+*/
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "fulltext")
+@ConditionalOnPostgres
+@RequiredArgsConstructor
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+
+    private static final int STEM_PREFIX_LENGTH = 4;
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text) {
+        return itemRepository.searchFullText(text);
+    }
+
+    /*
+        Стемминг PostgreSQL здесь не воспроизводится, поэтому сравнение грубое:
+        слова считаются совпавшими, если совпадают их первые STEM_PREFIX_LENGTH букв (или всё более короткое слово)
+    */
+    @Override
+    public boolean matches(String cacheKey, String name, String description) {
+        List<String> itemTokens = SearchTokenizer.tokenize(name + " " + description);
+        return SearchTokenizer.tokenize(cacheKey).stream()
+                .anyMatch(queryToken -> itemTokens.stream()
+                        .anyMatch(itemToken -> sharesStem(queryToken, itemToken)));
+    }
+
+    private static boolean sharesStem(String first, String second) {
+        int length = Math.min(STEM_PREFIX_LENGTH, Math.min(first.length(), second.length()));
+        return first.regionMatches(0, second, 0, length);
+    }
+}
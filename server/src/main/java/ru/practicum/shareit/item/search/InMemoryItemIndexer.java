@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.utils.StreamingUtils.FETCH_SIZE;
+import static ru.practicum.shareit.utils.StreamingUtils.forEachChunk;
+import static ru.practicum.shareit.utils.TransactionUtils.afterCommit;
+
+/*
+    Поддержание индекса доступных вещей в памяти: индекс строится при старте приложения
+    и обновляется после фиксации транзакций, меняющих вещи
+*/
+@Slf4j
+public abstract class InMemoryItemIndexer<I extends ItemIndex> {
+
+    protected final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final Supplier<I> indexFactory;
+
+    // Подменяется целиком при перестроении, чтобы читатели не видели наполовину построенный индекс
+    private volatile I index;
+
+    /*
+        Перестроение читает снимок БД, и изменения, зафиксированные во время чтения, в него могут не попасть.
+        Пока идёт перестроение, обновления применяются к текущему индексу и запоминаются, а перед подменой
+        повторяются на новом: put и remove несут итоговое состояние вещи, поэтому повтор безопасен
+    */
+    private final Lock updateLock = new ReentrantLock();
+    private List<Consumer<I>> updatesDuringRebuild;
+
+    protected InMemoryItemIndexer(ItemRepository itemRepository,
+                                  EntityManager entityManager,
+                                  Supplier<I> indexFactory) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.indexFactory = indexFactory;
+        this.index = indexFactory.get();
+    }
+
+    protected I index() {
+        return index;
+    }
+
+    /*
+        Транзакция не read-only намеренно: при чтении с реплик read-only транзакция ушла бы на реплику,
+        и вещи, ещё не доехавшие до неё, выпали бы из индекса до своего следующего сохранения
+    */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        List<Consumer<I>> missed = new ArrayList<>();
+        withUpdateLock(() -> updatesDuringRebuild = missed);
+
+        I rebuilt = indexFactory.get();
+        try (Stream<Item> items = itemRepository.streamAllByAvailableTrue()) {
+            forEachChunk(items, FETCH_SIZE, chunk -> {
+                chunk.forEach(item -> rebuilt.put(item.getId(), item.getName(), item.getDescription()));
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            withUpdateLock(() -> updatesDuringRebuild = null);
+            throw e;
+        }
+
+        withUpdateLock(() -> {
+            missed.forEach(update -> update.accept(rebuilt));
+            index = rebuilt;
+            updatesDuringRebuild = null;
+        });
+        log.info("{}: индекс построен, документов: {}, повторено изменений: {}",
+                getClass().getSimpleName(), rebuilt.size(), missed.size());
+    }
+
+    public void onItemSaved(Item item) {
+        Long id = item.getId();
+        if (!item.isAvailable()) {
+            afterCommit(() -> apply(index -> index.remove(id)));
+            return;
+        }
+
+        String name = item.getName();
+        String description = item.getDescription();
+        afterCommit(() -> apply(index -> index.put(id, name, description)));
+    }
+
+    private void apply(Consumer<I> update) {
+        withUpdateLock(() -> {
+            update.accept(index);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        });
+    }
+
+    private void withUpdateLock(Runnable action) {
+        updateLock.lock();
+        try {
+            action.run();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+    Общая часть движков поиска по индексу в памяти:
+    найденные идентификаторы догружаются из БД с сохранением порядка
+*/
+public abstract class InMemoryItemSearchEngine<I extends ItemIndex> extends InMemoryItemIndexer<I>
+        implements ItemSearchEngine {
+
+    protected InMemoryItemSearchEngine(ItemRepository itemRepository,
+                                       EntityManager entityManager,
+                                       Supplier<I> indexFactory) {
+        super(itemRepository, entityManager, indexFactory);
+    }
+
+    protected abstract List<Long> searchIds(I index, String text);
+
+    @Override
+    public List<Item> search(String text) {
+        List<Long> rankedIds = searchIds(index(), text);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .filter(Item::isAvailable)
+                .toList();
+    }
+}
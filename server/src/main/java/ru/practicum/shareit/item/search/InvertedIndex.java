@@ -0,0 +1,134 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    Инвертированный индекс по словам документа с ранжированием BM25.
+    Запись и чтение разделены блокировкой: поиск идёт параллельно, обновления последовательно
+*/
+public class InvertedIndex implements ItemIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // слово -> (документ -> сколько раз слово встречается в документе)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // документ -> его различные слова, нужны для удаления документа из индекса
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void put(Long id, String... fields) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = 0;
+        for (String field : fields) {
+            for (String token : SearchTokenizer.tokenize(field)) {
+                termFrequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            if (length == 0) {
+                return;
+            }
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, frequency));
+            documentTerms.put(id, termFrequencies.keySet());
+            documentLengths.put(id, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+        Документы, содержащие хотя бы одно слово запроса, по убыванию оценки BM25,
+        при равной оценке - по возрастанию идентификатора
+    */
+    public List<Long> search(String text) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(text));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentsCount = documentLengths.size();
+            if (documentsCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentsCount;
+
+            for (String term : terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int documentFrequency = termPostings.size();
+                double idf = Math.log(1 + (documentsCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                termPostings.forEach((id, frequency) -> {
+                    double lengthNorm = 1 - B + B * documentLengths.get(id) / averageLength;
+                    double score = idf * frequency * (K1 + 1) / (frequency + K1 * lengthNorm);
+                    scores.merge(id, score, Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void removeUnlocked(Long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= documentLengths.remove(id);
+    }
+}
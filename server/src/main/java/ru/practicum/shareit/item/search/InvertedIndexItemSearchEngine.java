@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/*
+    Поиск по инвертированному индексу в памяти с ранжированием BM25
+*/
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "index")
+public class InvertedIndexItemSearchEngine extends InMemoryItemSearchEngine<InvertedIndex> {
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository, EntityManager entityManager) {
+        super(itemRepository, entityManager, InvertedIndex::new);
+    }
+
+    @Override
+    protected List<Long> searchIds(InvertedIndex index, String text) {
+        return index.search(text);
+    }
+
+    @Override
+    public boolean matches(String cacheKey, String name, String description) {
+        return SearchTokenizer.sharesToken(cacheKey, name, description);
+    }
+}
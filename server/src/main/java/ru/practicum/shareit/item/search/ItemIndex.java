@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.search;
+
+/*
+    Индекс вещей в памяти: документом считается доступная вещь с её названием и описанием
+*/
+public interface ItemIndex {
+
+    void put(Long id, String... fields);
+
+    void remove(Long id);
+
+    int size();
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/*
+    Автодополнение названий доступных вещей по префиксному дереву в памяти
+*/
+@Component
+public class ItemNameSuggester extends InMemoryItemIndexer<ItemNameTrie> {
+
+    public ItemNameSuggester(ItemRepository itemRepository, EntityManager entityManager) {
+        super(itemRepository, entityManager, ItemNameTrie::new);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return index().complete(prefix, limit);
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    Префиксное дерево названий вещей для автодополнения.
+    Ключом служит нормализованное название, в конечном узле хранятся исходные написания с числом вещей,
+    поэтому одинаковые названия разных вещей выдаются один раз и удаляются только вместе с последней вещью
+*/
+public class ItemNameTrie implements ItemIndex {
+
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final TreeMap<String, Integer> names = new TreeMap<>();
+    }
+
+    private final Node root = new Node();
+    // вещь -> её название в дереве, нужно для удаления старого названия при изменении вещи
+    private final Map<Long, String> itemNames = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Индексируется только первое поле - название вещи
+    @Override
+    public void put(Long id, String... fields) {
+        String name = fields.length > 0 && fields[0] != null ? fields[0].strip() : "";
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            if (name.isEmpty()) {
+                return;
+            }
+            Node node = root;
+            for (char c : key(name).toCharArray()) {
+                node = node.children.computeIfAbsent(c, k -> new Node());
+            }
+            node.names.merge(name, 1, Integer::sum);
+            itemNames.put(id, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return itemNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+        Не более limit различных названий, начинающихся с prefix, в лексикографическом порядке
+    */
+    public List<String> complete(String prefix, int limit) {
+        // пробел в конце префикса значим: «дрель » не должно подсказывать «дрель»
+        String key = SearchTokenizer.normalize(prefix).stripLeading();
+        List<String> completions = new ArrayList<>(limit);
+        if (key.isEmpty() || limit <= 0) {
+            return completions;
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (char c : key.toCharArray()) {
+                node = node.children.get(c);
+                if (node == null) {
+                    return completions;
+                }
+            }
+            collect(node, completions, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return completions;
+    }
+
+    private static void collect(Node node, List<String> completions, int limit) {
+        for (String name : node.names.keySet()) {
+            if (completions.size() == limit) {
+                return;
+            }
+            completions.add(name);
+        }
+        for (Node child : node.children.values()) {
+            if (completions.size() == limit) {
+                return;
+            }
+            collect(child, completions, limit);
+        }
+    }
+
+    private void removeUnlocked(Long id) {
+        String name = itemNames.remove(id);
+        if (name == null) {
+            return;
+        }
+
+        String key = key(name);
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (char c : key.toCharArray()) {
+            node = node.children.get(c);
+            path.add(node);
+        }
+        node.names.computeIfPresent(name, (n, count) -> count == 1 ? null : count - 1);
+
+        // убираем опустевшие узлы снизу вверх
+        for (int i = key.length(); i > 0; i--) {
+            Node current = path.get(i);
+            if (!current.names.isEmpty() || !current.children.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(key.charAt(i - 1));
+        }
+    }
+
+    private static String key(String text) {
+        return SearchTokenizer.normalize(text).strip();
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.utils.TransactionUtils.afterCommit;
+import static ru.practicum.shareit.utils.TransactionUtils.isReplicaRead;
+
+/*
+    Кэш результатов поиска вещей по ключу, который выдаёт активный движок поиска.
+    Caffeine вытесняет записи по W-TinyLFU, так что частые запросы переживают всплески редких.
+    При изменении вещи сбрасываются только записи, в выдаче которых она есть или может появиться
+*/
+@Component
+public class ItemSearchCache {
+
+    public static final String CACHE_NAME = "itemSearch";
+
+    private final ItemSearchEngine itemSearchEngine;
+    private final Cache<String, List<ItemDto>> cache;
+    // Увеличивается перед каждым сбросом: результат, загруженный до сброса, в кэше не остаётся
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemSearchCache(ItemSearchEngine itemSearchEngine,
+                           MeterRegistry meterRegistry,
+                           @Value("${shareit.search.cache.maximum-size}") long maximumSize,
+                           @Value("${shareit.search.cache.expire-after-write}") Duration expireAfterWrite) {
+        this.itemSearchEngine = itemSearchEngine;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /*
+        Внутри пишущей транзакции поиск может увидеть её незафиксированные изменения,
+        такой результат не кэшируется. Поиск выполняется вне блокировок кэша. Если во время поиска
+        прошёл сброс, результат мог быть прочитан до изменения, и записавший его поиск сам его удаляет:
+        проверка идёт после записи, поэтому запись либо видна сбросу, либо удаляется здесь
+    */
+    public List<ItemDto> get(String text, Function<String, List<ItemDto>> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.apply(text);
+        }
+
+        String key = itemSearchEngine.cacheKey(text);
+        List<ItemDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        List<ItemDto> loaded = loader.apply(text);
+        // Выдача с реплики может отставать от основной БД и в общий кэш не попадает
+        if (isReplicaRead()) {
+            return loaded;
+        }
+        cache.put(key, loaded);
+        if (generation.get() != loadedAt) {
+            cache.asMap().remove(key, loaded);
+        }
+        return loaded;
+    }
+
+    /*
+        searchFieldsChanged - изменились ли название, описание или доступность вещи:
+        если нет, выдача ни одного запроса не меняется
+    */
+    public void onItemSaved(Item item, boolean searchFieldsChanged) {
+        if (searchFieldsChanged) {
+            onItemsSaved(List.of(item));
+        }
+    }
+
+    /*
+        Сброс для набора вещей одной транзакции - один проход по кэшу после фиксации
+    */
+    public void onItemsSaved(Collection<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Set<Long> ids = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        List<SearchFields> available = items.stream()
+                .filter(Item::isAvailable)
+                .map(item -> new SearchFields(item.getName(), item.getDescription()))
+                .toList();
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            cache.asMap().entrySet().removeIf(entry ->
+                    containsAny(entry.getValue(), ids)
+                            || available.stream().anyMatch(fields ->
+                            itemSearchEngine.matches(entry.getKey(), fields.name(), fields.description())));
+        });
+    }
+
+    private static boolean containsAny(List<ItemDto> items, Set<Long> ids) {
+        return items.stream()
+                .anyMatch(item -> ids.contains(item.getId()));
+    }
+
+    private record SearchFields(String name, String description) {
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/*
+    Стратегия поиска доступных вещей по тексту в названии или описании.
+    Реализация выбирается свойством shareit.search.mode
+*/
+public interface ItemSearchEngine {
+
+    // Найденные доступные вещи в порядке убывания релевантности
+    List<Item> search(String text);
+
+    /*
+        Ключ кэша результатов: тексты с одинаковым ключом обязаны давать одинаковую выдачу.
+        По умолчанию движки работают со словами запроса, поэтому ключ - нормализованные слова через пробел
+    */
+    default String cacheKey(String text) {
+        return String.join(" ", SearchTokenizer.tokenize(text));
+    }
+
+    /*
+        Может ли вещь с такими названием и описанием попасть в выдачу по ключу запроса.
+        Допускаются ложные срабатывания, но не пропуски - по ответу решается, какие записи кэша сбросить
+    */
+    boolean matches(String cacheKey, String name, String description);
+
+    // Сообщает движку о создании или изменении вещи, чтобы он мог обновить свои структуры
+    default void onItemSaved(Item item) {
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Locale;
+
+/*
+    Поиск подстрокой через LIKE в БД, без ранжирования
+*/
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "like", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LikeItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text) {
+        String pattern = escapeLike(text);
+        return List.copyOf(itemRepository.search(pattern, pattern, true));
+    }
+
+    /*
+        «%» и «_» в запросе ищутся буквально, как и в matches - иначе кэш не сбросит выдачу,
+        которую LIKE нашёл бы по шаблону
+    */
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    // LIKE чувствителен к пробелам и не отождествляет «ё» с «е», поэтому ключ - только нижний регистр
+    @Override
+    public String cacheKey(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean matches(String cacheKey, String name, String description) {
+        return name.toLowerCase(Locale.ROOT).contains(cacheKey)
+                || description.toLowerCase(Locale.ROOT).contains(cacheKey);
+    }
+}
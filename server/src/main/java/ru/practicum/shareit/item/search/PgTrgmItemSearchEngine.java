@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.ConditionalOnPostgres;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/*
+    Нечёткий поиск средствами pg_trgm по GIN-индексам из schema-postgresql.sql.
+    Порог сходства задаётся для текущей транзакции, чтобы оператор <% мог использовать индекс
+*/
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "trigram")
+@ConditionalOnPostgres
+public class PgTrgmItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+    private final double threshold;
+    private final int limit;
+
+    public PgTrgmItemSearchEngine(ItemRepository itemRepository,
+                                  @Value("${shareit.search.trigram.threshold}") double threshold,
+                                  @Value("${shareit.search.trigram.limit}") int limit) {
+        this.itemRepository = itemRepository;
+        this.threshold = threshold;
+        this.limit = limit;
+    }
+
+    @Override
+    public List<Item> search(String text) {
+        itemRepository.setWordSimilarityThreshold(String.valueOf(threshold));
+        return itemRepository.searchByWordSimilarity(SearchTokenizer.normalize(text), limit);
+    }
+
+    // Приближение word_similarity из pg_trgm той же схемой триграмм, что и в индексе в памяти
+    @Override
+    public boolean matches(String cacheKey, String name, String description) {
+        return TrigramIndex.similarity(cacheKey, name) >= threshold
+                || TrigramIndex.similarity(cacheKey, description) >= threshold;
+    }
+}
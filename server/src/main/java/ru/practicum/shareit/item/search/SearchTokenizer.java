@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SearchTokenizer {
+
+    /*
+        Приводит текст к виду для поиска: нижний регистр, «ё» заменяется на «е»
+    */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+
+    /*
+        Есть ли у текстов общее слово
+    */
+    public static boolean sharesToken(String text, String... others) {
+        Set<String> tokens = new HashSet<>(tokenize(text));
+        for (String other : others) {
+            for (String token : tokenize(other)) {
+                if (tokens.contains(token)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*
+        Разбивает текст на слова из букв и цифр любого алфавита, остальные символы считаются разделителями
+    */
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    Триграммный индекс для нечёткого поиска, повторяет подход pg_trgm:
+    каждое слово дополняется двумя пробелами слева и одним справа и режется на тройки символов.
+    Сходство поля с запросом - доля триграмм запроса, найденных в поле (аналог word_similarity),
+    сходство документа - максимум по его полям
+*/
+public class TrigramIndex implements ItemIndex {
+
+    // триграмма -> (документ -> битовая маска полей, в которых она встречается)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // документ -> его различные триграммы, нужны для удаления документа из индекса
+    private final Map<Long, Set<String>> documentTrigrams = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : SearchTokenizer.tokenize(text)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    /*
+        Доля триграмм запроса, встречающихся в тексте
+    */
+    public static double similarity(String query, String text) {
+        Set<String> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty()) {
+            return 0;
+        }
+        Set<String> textTrigrams = trigrams(text);
+        long common = queryTrigrams.stream()
+                .filter(textTrigrams::contains)
+                .count();
+        return (double) common / queryTrigrams.size();
+    }
+
+    @Override
+    public void put(Long id, String... fields) {
+        Map<String, Integer> fieldMasks = new HashMap<>();
+        for (int field = 0; field < fields.length; field++) {
+            int fieldBit = 1 << field;
+            for (String trigram : trigrams(fields[field])) {
+                fieldMasks.merge(trigram, fieldBit, (a, b) -> a | b);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            if (fieldMasks.isEmpty()) {
+                return;
+            }
+            fieldMasks.forEach((trigram, mask) ->
+                    postings.computeIfAbsent(trigram, t -> new HashMap<>()).put(id, mask));
+            documentTrigrams.put(id, new HashSet<>(fieldMasks.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTrigrams.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+        Не более limit документов со сходством не ниже threshold, по убыванию сходства,
+        при равном сходстве - по возрастанию идентификатора
+    */
+    public List<Long> search(String text, double threshold, int limit) {
+        Set<String> queryTrigrams = trigrams(text);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+
+        // документ -> число совпавших триграмм по каждому полю
+        Map<Long, int[]> matches = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String trigram : queryTrigrams) {
+                Map<Long, Integer> trigramPostings = postings.get(trigram);
+                if (trigramPostings == null) {
+                    continue;
+                }
+                trigramPostings.forEach((id, mask) -> {
+                    int[] counts = matches.computeIfAbsent(id, i -> new int[Integer.SIZE]);
+                    for (int field = 0; mask >> field != 0; field++) {
+                        if ((mask >> field & 1) == 1) {
+                            counts[field]++;
+                        }
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, Double> similarities = new HashMap<>();
+        matches.forEach((id, counts) -> {
+            int best = 0;
+            for (int count : counts) {
+                best = Math.max(best, count);
+            }
+            double similarity = (double) best / queryTrigrams.size();
+            if (similarity >= threshold) {
+                similarities.put(id, similarity);
+            }
+        });
+
+        return similarities.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void removeUnlocked(Long id) {
+        Set<String> trigrams = documentTrigrams.remove(id);
+        if (trigrams == null) {
+            return;
+        }
+        for (String trigram : trigrams) {
+            Map<Long, Integer> trigramPostings = postings.get(trigram);
+            trigramPostings.remove(id);
+            if (trigramPostings.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+}
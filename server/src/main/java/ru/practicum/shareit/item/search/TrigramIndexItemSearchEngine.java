@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.ConditionalOnPostgres;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/*
+    Нечёткий поиск по триграммному индексу в памяти, используется там, где нет pg_trgm (H2)
+*/
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "trigram")
+@ConditionalOnPostgres(false)
+public class TrigramIndexItemSearchEngine extends InMemoryItemSearchEngine<TrigramIndex> {
+
+    private final double threshold;
+    private final int limit;
+
+    public TrigramIndexItemSearchEngine(ItemRepository itemRepository,
+                                        EntityManager entityManager,
+                                        @Value("${shareit.search.trigram.threshold}") double threshold,
+                                        @Value("${shareit.search.trigram.limit}") int limit) {
+        super(itemRepository, entityManager, TrigramIndex::new);
+        this.threshold = threshold;
+        this.limit = limit;
+    }
+
+    @Override
+    protected List<Long> searchIds(TrigramIndex index, String text) {
+        return index.search(text, threshold, limit);
+    }
+
+    @Override
+    public boolean matches(String cacheKey, String name, String description) {
+        return TrigramIndex.similarity(cacheKey, name) >= threshold
+                || TrigramIndex.similarity(cacheKey, description) >= threshold;
+    }
+}
@@ -4,18 +4,26 @@ import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto add(NewItemDto newItemDto, Long ownerId);
 
+    List<ItemDto> addAll(List<NewItemDto> newItemDtos, Long ownerId);
+
     ItemDto save(Long id, UpdateItemDto updateItemDto, Long ownerId);
 
     ItemWithBookingsDto find(Long id);
 
     Collection<ItemWithBookingsDto> findAllWithBookingsByOwnerId(Long ownerId);
 
+    void streamAllWithBookingsByOwnerId(Long ownerId, Consumer<? super ItemWithBookingsDto> action);
+
     Collection<ItemDto> searchAvailableItems(String searchText);
 
+    List<String> suggestNames(String prefix, int limit);
+
     CommentDto addComment(Long itemId, Long userId, NewCommentDto dto);
 
     Item getItemOrThrow(Long id);
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,16 +17,26 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static ru.practicum.shareit.utils.StreamingUtils.FETCH_SIZE;
+import static ru.practicum.shareit.utils.StreamingUtils.forEachChunk;
 import static ru.practicum.shareit.utils.ValidationUtils.requireFound;
 
 @Service
@@ -34,8 +45,12 @@ import static ru.practicum.shareit.utils.ValidationUtils.requireFound;
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemSearchCache itemSearchCache;
     private final ItemRequestService itemRequestService;
 
     private final UserService userService;
@@ -46,6 +61,7 @@ public class ItemServiceImpl implements ItemService {
 
     private static final String MSG_ITEM_BY_ID_NOT_EXISTS = "Вещь с ID %d не найдена";
     private static final String MSG_INCORRECT_ITEM_OWNER = "Пользователь с ID %d не является владельцем вещи";
+    private static final String MSG_INCORRECT_SUGGEST_LIMIT = "Некорректное количество подсказок: %d";
     private static final String MSG_CAN_NOT_COMMENT = "Оставить отзыв можно только после завершённой аренды";
 
     @Override
@@ -60,9 +76,44 @@ public class ItemServiceImpl implements ItemService {
         itemToCreate.setOwner(ownerId);
 
         Item createdItem = itemRepository.save(itemToCreate);
+        itemSearchEngine.onItemSaved(createdItem);
+        itemNameSuggester.onItemSaved(createdItem);
+        itemSearchCache.onItemSaved(createdItem, true);
         return itemMapper.toItemDto(createdItem);
     }
 
+    /*
+        Пакетное создание: владелец и все запросы проверяются по одному разу,
+        идентификаторы берутся из последовательности блоками, а вставки уходят пакетами JDBC
+    */
+    @Override
+    @Transactional
+    public List<ItemDto> addAll(List<NewItemDto> newItemDtos, Long ownerId) {
+        userService.existsByIdOrThrow(ownerId);
+        itemRequestService.existAllByIdsOrThrow(newItemDtos.stream()
+                .map(NewItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        List<Item> itemsToCreate = newItemDtos.stream()
+                .map(newItemDto -> {
+                    Item item = itemMapper.toItem(newItemDto);
+                    item.setOwner(ownerId);
+                    return item;
+                })
+                .toList();
+
+        List<Item> createdItems = itemRepository.saveAll(itemsToCreate);
+        createdItems.forEach(createdItem -> {
+            itemSearchEngine.onItemSaved(createdItem);
+            itemNameSuggester.onItemSaved(createdItem);
+        });
+        itemSearchCache.onItemsSaved(createdItems);
+        return createdItems.stream()
+                .map(itemMapper::toItemDto)
+                .toList();
+    }
+
     @Override
     @Transactional
     public ItemDto save(Long id, UpdateItemDto updateItemDto, Long ownerId) {
@@ -72,8 +123,17 @@ public class ItemServiceImpl implements ItemService {
             throw new ForbiddenException(String.format(MSG_INCORRECT_ITEM_OWNER, ownerId));
         }
 
+        String nameBefore = itemToSave.getName();
+        String descriptionBefore = itemToSave.getDescription();
+        boolean availableBefore = itemToSave.isAvailable();
+
         itemMapper.updateItem(updateItemDto, itemToSave);
         Item savedItem = itemRepository.save(itemToSave);
+        itemSearchEngine.onItemSaved(savedItem);
+        itemNameSuggester.onItemSaved(savedItem);
+        itemSearchCache.onItemSaved(savedItem, !Objects.equals(nameBefore, savedItem.getName())
+                || !Objects.equals(descriptionBefore, savedItem.getDescription())
+                || availableBefore != savedItem.isAvailable());
         return itemMapper.toItemDto(savedItem);
     }
 
@@ -113,28 +173,20 @@ public class ItemServiceImpl implements ItemService {
         if (items.isEmpty()) {
             return List.of();
         }
+        return toItemsWithBookings(items, LocalDateTime.now());
+    }
 
-        List<Long> itemIds = items.stream()
-                .map(Item::getId)
-                .toList();
-        Collection<Comment> comments = commentRepository.findAllByItem_IdInOrderByCreatedDesc(itemIds);
-        Map<Long, List<Comment>> commentsByItem = comments.stream()
-                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
+    @Override
+    public void streamAllWithBookingsByOwnerId(Long ownerId, Consumer<? super ItemWithBookingsDto> action) {
+        userService.existsByIdOrThrow(ownerId);
 
         LocalDateTime now = LocalDateTime.now();
-        return items.stream()
-                .map(item -> {
-                    Booking last = bookingRepository.findTopByItem_IdAndStatusAndStartLessThanEqualOrderByStartDesc(
-                                    item.getId(), BookingStatus.APPROVED, now)
-                            .orElse(null);
-                    Booking next = bookingRepository.findTopByItem_IdAndStatusAndStartGreaterThanOrderByStartAsc(
-                                    item.getId(), BookingStatus.APPROVED, now)
-                            .orElse(null);
-                    List<Comment> itemComments = commentsByItem.getOrDefault(item.getId(), List.of());
-                    return itemWithBookingsMapper.toItemWithBookingsDto(item, last, next, itemComments);
-
-                })
-                .toList();
+        try (Stream<Item> items = itemRepository.streamAllByOwner(ownerId)) {
+            forEachChunk(items, FETCH_SIZE, chunk -> {
+                toItemsWithBookings(chunk, now).forEach(action);
+                entityManager.clear();
+            });
+        }
     }
 
     @Override
@@ -143,10 +195,21 @@ public class ItemServiceImpl implements ItemService {
             return List.of();
         }
 
-        Collection<Item> itemsSearchResult = itemRepository.search(searchText, searchText, true);
-        return itemsSearchResult.stream()
+        return itemSearchCache.get(searchText, text -> itemSearchEngine.search(text).stream()
                 .map(itemMapper::toItemDto)
-                .toList();
+                .toList());
+    }
+
+    @Override
+    public List<String> suggestNames(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        if (limit < 1) {
+            throw new ValidationException(String.format(MSG_INCORRECT_SUGGEST_LIMIT, limit));
+        }
+
+        return itemNameSuggester.suggest(prefix, limit);
     }
 
     @Override
@@ -154,4 +217,34 @@ public class ItemServiceImpl implements ItemService {
         return requireFound(itemRepository.findById(id), () -> String.format(MSG_ITEM_BY_ID_NOT_EXISTS, id));
     }
 
+    private List<ItemWithBookingsDto> toItemsWithBookings(Collection<Item> items, LocalDateTime now) {
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .toList();
+        Collection<Comment> comments = commentRepository.findAllByItem_IdInOrderByCreatedDesc(itemIds);
+        Map<Long, List<Comment>> commentsByItem = comments.stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
+
+        Map<Long, Booking> lastBookingsByItem = mapByItemId(
+                bookingRepository.findLastByItemIds(itemIds, BookingStatus.APPROVED, now));
+        Map<Long, Booking> nextBookingsByItem = mapByItemId(
+                bookingRepository.findNextByItemIds(itemIds, BookingStatus.APPROVED, now));
+
+        return items.stream()
+                .map(item -> {
+                    Booking last = lastBookingsByItem.get(item.getId());
+                    Booking next = nextBookingsByItem.get(item.getId());
+                    List<Comment> itemComments = commentsByItem.getOrDefault(item.getId(), List.of());
+                    return itemWithBookingsMapper.toItemWithBookingsDto(item, last, next, itemComments);
+
+                })
+                .toList();
+    }
+
+    // При совпадении времени начала у нескольких бронирований вещи берётся первое из них
+    private static Map<Long, Booking> mapByItemId(Collection<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity(), (first, second) -> first));
+    }
+
 }
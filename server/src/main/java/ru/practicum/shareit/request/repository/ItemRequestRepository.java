@@ -1,13 +1,19 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     Collection<ItemRequest> findByRequestor_IdOrderByCreatedDesc(Long requestorId);
 
     Collection<ItemRequest> findByRequestor_IdNotOrderByCreatedDesc(Long otherUsersId);
+
+    @Query("select r.id from ItemRequest r where r.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
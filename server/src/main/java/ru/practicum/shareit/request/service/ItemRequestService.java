@@ -19,4 +19,6 @@ public interface ItemRequestService {
     ItemRequest getItemRequestOrThrow(Long id);
 
     void existsByIdOrThrow(Long id);
+
+    void existAllByIdsOrThrow(Collection<Long> ids);
 }
\ No newline at end of file
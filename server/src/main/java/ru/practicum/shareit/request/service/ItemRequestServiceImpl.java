@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -15,8 +16,10 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.utils.ValidationUtils.requireExists;
@@ -83,6 +86,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         requireExists(itemRequestRepository.existsById(id), () -> String.format(MSG_REQUEST_BY_ID_NOT_EXISTS, id));
     }
 
+    // Проверка набора запросов одним запросом к БД, в ошибке - первый отсутствующий ID
+    @Override
+    public void existAllByIdsOrThrow(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Set<Long> existingIds = new HashSet<>(itemRequestRepository.findExistingIds(ids));
+        ids.stream()
+                .filter(id -> !existingIds.contains(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new NotFoundException(String.format(MSG_REQUEST_BY_ID_NOT_EXISTS, id));
+                });
+    }
+
     private Collection<ItemRequestDto> collectAnswersForRequests(Collection<ItemRequest> requests) {
         if (requests.isEmpty()) {
             return List.of();
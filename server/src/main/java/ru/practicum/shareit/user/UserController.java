@@ -1,25 +1,45 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.NewUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.utils.NdjsonLine;
 
+import java.io.IOException;
 import java.util.Collection;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.utils.NdjsonUtils.readNdjson;
+import static ru.practicum.shareit.utils.NdjsonUtils.writeNdjson;
 
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public UserDto createUser(@RequestBody NewUserDto newUserDto) {
         return userService.add(newUserDto);
     }
 
+    @PostMapping(path = "/import",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (Stream<NdjsonLine<NewUserDto>> lines = readNdjson(request.getInputStream(), objectMapper, NewUserDto.class)) {
+            writeNdjson(response, objectMapper, action -> userService.importUsers(lines, action));
+        }
+    }
+
     @GetMapping("/{userId}")
     public UserDto getUser(@PathVariable Long userId) {
         return userService.find(userId);
@@ -42,4 +62,9 @@ public class UserController {
     public Collection<UserDto> getAllUsers() {
         return userService.findAll();
     }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        writeNdjson(response, objectMapper, userService::streamAll);
+    }
 }
\ No newline at end of file
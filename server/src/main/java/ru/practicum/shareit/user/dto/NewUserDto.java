@@ -1,9 +1,22 @@
 package ru.practicum.shareit.user.dto;
 
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Value;
 
+/*
+    Запросы на создание проверяет шлюз, здесь ограничения нужны импорту: те же правила, что в шлюзе,
+    и длины столбцов users, чтобы строка, которая не поместится в БД, отклонялась до вставки
+*/
 @Value
 public class NewUserDto {
+    @NotBlank(message = "Пустое имя пользователя")
+    @Size(max = 255, message = "Имя пользователя длиннее {max} символов")
     String name;
+
+    @NotBlank(message = "Пустой e-mail пользователя")
+    @Email(message = "Некорректный e-mail")
+    @Size(max = 512, message = "E-mail длиннее {max} символов")
     String email;
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.Value;
+
+/*
+    Результат импорта одной строки: номер строки во входе, итог и ID созданного пользователя либо причина отказа
+*/
+@Value
+public class UserImportResultDto {
+    long line;
+    UserImportStatus status;
+    Long id;
+    String error;
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.utils.TransactionUtils.afterCommit;
+import static ru.practicum.shareit.utils.TransactionUtils.isReplicaRead;
+
+/*
+    Кэш факта существования пользователя: хранит и положительные, и отрицательные ответы,
+    отрицательные живут меньше, чтобы пропущенная инвалидация не скрывала пользователя надолго
+*/
+@Component
+class UserExistenceCache {
+
+    static final String CACHE_NAME = "userExists";
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, Boolean> cache;
+    /*
+        Поколения записей, разбитые на полосы по идентификатору: сброс увеличивает поколение полосы.
+        Ответ, прочитанный до сброса, мог устареть (например, чтение началось до фиксации удаления),
+        такой ответ в кэше не остаётся
+    */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    UserExistenceCache(MeterRegistry meterRegistry,
+                       @Value("${shareit.users.cache.maximum-size}") long maximumSize,
+                       @Value("${shareit.users.cache.positive-ttl}") Duration positiveTtl,
+                       @Value("${shareit.users.cache.negative-ttl}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Boolean exists, long currentTime) {
+                        return (exists ? positiveTtl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Boolean exists, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, exists, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Boolean exists, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /*
+        Внутри пишущей транзакции загруженный ответ может опираться на незафиксированные данные,
+        а прочитанный с реплики - отставать от основной БД, поэтому там кэш только читается. Запрос к БД выполняется вне блокировок кэша
+    */
+    boolean exists(Long id, Function<Long, Boolean> loader) {
+        Boolean cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = stamp(id);
+        boolean exists = loader.apply(id);
+        put(id, stamp, exists);
+        return exists;
+    }
+
+    boolean isKnownMissing(Long id) {
+        return Boolean.FALSE.equals(cache.getIfPresent(id));
+    }
+
+    // Поколение записи, снимается до чтения из БД и передаётся в put
+    long stamp(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    /*
+        Ответ записывается, а затем проверяется поколение: если между чтением и записью прошёл сброс,
+        запись удаляется. Так ответ либо виден сбросу, либо удаляется здесь
+    */
+    void put(Long id, long stamp, boolean exists) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || isReplicaRead()) {
+            return;
+        }
+        cache.put(id, exists);
+        if (stamp(id) != stamp) {
+            cache.asMap().remove(id, exists);
+        }
+    }
+
+    // Сбрасывает запись сразу и ещё раз после фиксации, чтобы не осталось ответа, прочитанного в промежутке
+    void invalidate(Long id) {
+        evict(id);
+        afterCommit(() -> evict(id));
+    }
+
+    private void evict(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.user.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dto.NewUserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserImportStatus;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utils.NdjsonLine;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.utils.StreamingUtils.forEachChunk;
+
+/*
+    Массовый импорт пользователей: вход читается потоком и обрабатывается порциями,
+    каждая порция - одна проверка email в БД и одна транзакция с пакетной вставкой.
+    В памяти одновременно находится не больше одной порции
+*/
+@Slf4j
+@Component
+class UserImporter {
+
+    private static final String MSG_UNREADABLE_LINE = "Строка не является JSON-объектом пользователя: %s";
+    private static final String MSG_EMAIL_DUPLICATE = "Пользователь с email %s уже существует";
+    private static final String MSG_NOT_SAVED = "Пользователь не сохранён: %s";
+
+    // SQLSTATE нарушения уникальности, одинаковый у PostgreSQL и H2
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final UserExistenceCache userExistenceCache;
+    private final UserMapper userMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    UserImporter(UserRepository userRepository,
+                 EntityManager entityManager,
+                 UserExistenceCache userExistenceCache,
+                 UserMapper userMapper,
+                 Validator validator,
+                 PlatformTransactionManager transactionManager,
+                 @Value("${shareit.users.import.chunk-size}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.userExistenceCache = userExistenceCache;
+        this.userMapper = userMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    void importUsers(Stream<NdjsonLine<NewUserDto>> lines, Consumer<? super UserImportResultDto> action) {
+        forEachChunk(lines, chunkSize, chunk -> Arrays.stream(importChunk(chunk)).forEach(action));
+    }
+
+    private UserImportResultDto[] importChunk(List<NdjsonLine<NewUserDto>> chunk) {
+        UserImportResultDto[] results = new UserImportResultDto[chunk.size()];
+
+        // Первая строка с каждым email - кандидат на вставку, повторы внутри порции сразу отклоняются
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            NdjsonLine<NewUserDto> line = chunk.get(i);
+            String error = validate(line);
+            if (error != null) {
+                results[i] = rejected(line, UserImportStatus.INVALID, error);
+            } else if (candidates.putIfAbsent(line.getValue().getEmail(), i) != null) {
+                results[i] = rejected(line, UserImportStatus.DUPLICATE,
+                        String.format(MSG_EMAIL_DUPLICATE, line.getValue().getEmail()));
+            }
+        }
+
+        Set<String> existingEmails = candidates.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userRepository.findExistingEmails(candidates.keySet()));
+        List<Integer> toCreate = new ArrayList<>(candidates.size());
+        candidates.forEach((email, i) -> {
+            if (existingEmails.contains(email)) {
+                results[i] = rejected(chunk.get(i), UserImportStatus.DUPLICATE, String.format(MSG_EMAIL_DUPLICATE, email));
+            } else {
+                toCreate.add(i);
+            }
+        });
+
+        if (!toCreate.isEmpty()) {
+            create(chunk, toCreate, results);
+        }
+        return results;
+    }
+
+    /*
+        Порция вставляется одной транзакцией. Если между проверкой и вставкой тот же email успел появиться
+        в БД, порция откатывается и вставляется построчно, чтобы отклонить только конфликтующие строки.
+        Дубликатом считается только нарушение уникальности, прочие отказы БД - некорректная строка
+    */
+    private void create(List<NdjsonLine<NewUserDto>> chunk, List<Integer> toCreate, UserImportResultDto[] results) {
+        try {
+            List<User> created = transactionTemplate.execute(status -> insert(toCreate.stream()
+                    .map(i -> userMapper.toUser(chunk.get(i).getValue()))
+                    .toList()));
+            for (int j = 0; j < toCreate.size(); j++) {
+                results[toCreate.get(j)] = created(chunk.get(toCreate.get(j)), created.get(j));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Отказ БД при пакетной вставке, порция вставляется построчно: {}", e.getMessage());
+            for (Integer i : toCreate) {
+                NdjsonLine<NewUserDto> line = chunk.get(i);
+                try {
+                    List<User> created = transactionTemplate.execute(status ->
+                            insert(List.of(userMapper.toUser(line.getValue()))));
+                    results[i] = created(line, created.getFirst());
+                } catch (DataIntegrityViolationException ex) {
+                    results[i] = isUniqueViolation(ex)
+                            ? rejected(line, UserImportStatus.DUPLICATE,
+                            String.format(MSG_EMAIL_DUPLICATE, line.getValue().getEmail()))
+                            : rejected(line, UserImportStatus.INVALID,
+                            String.format(MSG_NOT_SAVED, NestedExceptionUtils.getMostSpecificCause(ex).getMessage()));
+                }
+            }
+        }
+    }
+
+    // Импортированные пользователи не кладутся в кэш второго уровня, чтобы не вытеснять из него рабочие записи
+    private List<User> insert(List<User> users) {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        List<User> saved = userRepository.saveAll(users);
+        userRepository.flush();
+        saved.forEach(user -> userExistenceCache.invalidate(user.getId()));
+        return saved;
+    }
+
+    private String validate(NdjsonLine<NewUserDto> line) {
+        if (line.getError() != null) {
+            return String.format(MSG_UNREADABLE_LINE, line.getError());
+        }
+
+        Set<ConstraintViolation<NewUserDto>> violations = validator.validate(line.getValue());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Ошибка драйвера может быть обёрнута (например, в BatchUpdateException), поэтому просматривается вся цепочка
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static UserImportResultDto created(NdjsonLine<NewUserDto> line, User user) {
+        return new UserImportResultDto(line.getNumber(), UserImportStatus.CREATED, user.getId(), null);
+    }
+
+    private static UserImportResultDto rejected(NdjsonLine<NewUserDto> line, UserImportStatus status, String error) {
+        return new UserImportResultDto(line.getNumber(), status, null, error);
+    }
+}
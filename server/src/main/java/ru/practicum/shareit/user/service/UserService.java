@@ -2,16 +2,24 @@ package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.NewUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.NdjsonLine;
 
 import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface UserService {
     UserDto add(NewUserDto newUserDto);
 
+    void importUsers(Stream<NdjsonLine<NewUserDto>> lines, Consumer<? super UserImportResultDto> action);
+
     Collection<UserDto> findAll();
 
+    void streamAll(Consumer<? super UserDto> action);
+
     UserDto find(Long id);
 
     UserDto save(Long id, UpdateUserDto updateUserDto);
@@ -1,18 +1,29 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.datasource.ReadYourWrites;
 import ru.practicum.shareit.exception.DuplicateException;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.dto.NewUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utils.NdjsonLine;
 
 import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static ru.practicum.shareit.utils.StreamingUtils.FETCH_SIZE;
+import static ru.practicum.shareit.utils.StreamingUtils.forEachChunk;
 import static ru.practicum.shareit.utils.ValidationUtils.requireExists;
 import static ru.practicum.shareit.utils.ValidationUtils.requireFound;
 
@@ -22,6 +33,11 @@ import static ru.practicum.shareit.utils.ValidationUtils.requireFound;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final UserExistenceCache userExistenceCache;
+    private final UserImporter userImporter;
+    // Есть только при чтении с реплик
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
 
     private final UserMapper userMapper;
 
@@ -35,9 +51,18 @@ public class UserServiceImpl implements UserService {
         User userToCreate = userMapper.toUser(newUserDto);
 
         User createdUser = userRepository.save(userToCreate);
+        userExistenceCache.invalidate(createdUser.getId());
+        readYourWrites.ifAvailable(sticky -> sticky.recordWrite(createdUser.getId()));
         return userMapper.toUserDto(createdUser);
     }
 
+    // Порции импорта фиксируются своими транзакциями, поэтому общая транзакция здесь не открывается
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void importUsers(Stream<NdjsonLine<NewUserDto>> lines, Consumer<? super UserImportResultDto> action) {
+        userImporter.importUsers(lines, action);
+    }
+
     @Override
     public Collection<UserDto> findAll() {
         Collection<User> users = userRepository.findAll();
@@ -46,6 +71,16 @@ public class UserServiceImpl implements UserService {
                 .toList();
     }
 
+    @Override
+    public void streamAll(Consumer<? super UserDto> action) {
+        try (Stream<User> users = userRepository.streamAllBy()) {
+            forEachChunk(users, FETCH_SIZE, chunk -> {
+                chunk.forEach(user -> action.accept(userMapper.toUserDto(user)));
+                entityManager.clear();
+            });
+        }
+    }
+
     @Override
     public UserDto find(Long id) {
         User user = getUserOrThrow(id);
@@ -60,6 +95,7 @@ public class UserServiceImpl implements UserService {
 
         userMapper.updateUser(updateUserDto, userToSave);
         User savedUser = userRepository.save(userToSave);
+        userExistenceCache.invalidate(id);
         return userMapper.toUserDto(savedUser);
     }
 
@@ -68,16 +104,24 @@ public class UserServiceImpl implements UserService {
     public void remove(Long id) {
         existsByIdOrThrow(id);
         userRepository.deleteById(id);
+        userExistenceCache.invalidate(id);
     }
 
     @Override
     public User getUserOrThrow(Long id) {
-        return requireFound(userRepository.findById(id), () -> String.format(MSG_USER_BY_ID_NOT_EXISTS, id));
+        // Сущность нужна целиком, поэтому кэш лишь отсекает заведомо несуществующих пользователей
+        requireExists(!userExistenceCache.isKnownMissing(id), () -> String.format(MSG_USER_BY_ID_NOT_EXISTS, id));
+
+        long stamp = userExistenceCache.stamp(id);
+        Optional<User> user = userRepository.findById(id);
+        userExistenceCache.put(id, stamp, user.isPresent());
+        return requireFound(user, () -> String.format(MSG_USER_BY_ID_NOT_EXISTS, id));
     }
 
     @Override
     public void existsByIdOrThrow(Long id) {
-        requireExists(userRepository.existsById(id), () -> String.format(MSG_USER_BY_ID_NOT_EXISTS, id));
+        requireExists(userExistenceCache.exists(id, userRepository::existsById),
+                () -> String.format(MSG_USER_BY_ID_NOT_EXISTS, id));
     }
 
     private void validateEmailUniqueness(String currentUserEmail) {
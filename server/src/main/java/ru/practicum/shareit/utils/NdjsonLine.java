@@ -0,0 +1,13 @@
+package ru.practicum.shareit.utils;
+
+import lombok.Value;
+
+/*
+    Строка входящего NDJSON: номер строки во входе и прочитанный объект либо текст ошибки разбора
+*/
+@Value
+public class NdjsonLine<T> {
+    long number;
+    T value;
+    String error;
+}
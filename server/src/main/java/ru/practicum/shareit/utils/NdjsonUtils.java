@@ -0,0 +1,86 @@
+package ru.practicum.shareit.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class NdjsonUtils {
+
+    /*
+        Пишет в ответ каждый объект источника отдельной JSON-строкой сразу по мере получения,
+        не собирая выдачу целиком в памяти
+    */
+    public static void writeNdjson(HttpServletResponse response,
+                                   ObjectMapper objectMapper,
+                                   Consumer<Consumer<Object>> source) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        OutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writer();
+        try {
+            source.accept(value -> {
+                try {
+                    out.write(writer.writeValueAsBytes(value));
+                    out.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        out.flush();
+    }
+
+    /*
+        Читает NDJSON лениво, строка за строкой, по мере поступления тела запроса.
+        Пустые строки пропускаются, но учитываются в нумерации; нечитаемая строка не прерывает чтение,
+        а возвращается с текстом ошибки
+    */
+    public static <T> Stream<NdjsonLine<T>> readNdjson(InputStream in, ObjectMapper objectMapper, Class<T> type) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ObjectReader objectReader = objectMapper.readerFor(type);
+        AtomicLong number = new AtomicLong();
+
+        return reader.lines()
+                .map(line -> NdjsonUtils.<T>parseLine(number.incrementAndGet(), line, objectReader))
+                .filter(Objects::nonNull)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+    }
+
+    private static <T> NdjsonLine<T> parseLine(long number, String line, ObjectReader objectReader) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return new NdjsonLine<>(number, objectReader.readValue(line), null);
+        } catch (JsonProcessingException ex) {
+            return new NdjsonLine<>(number, null, ex.getOriginalMessage());
+        }
+    }
+}
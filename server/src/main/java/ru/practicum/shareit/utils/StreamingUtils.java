@@ -0,0 +1,33 @@
+package ru.practicum.shareit.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StreamingUtils {
+
+    // Сколько строк за раз забирается из БД и держится в контексте персистентности при потоковой выдаче
+    public static final int FETCH_SIZE = 500;
+
+    public static <T> void forEachChunk(Stream<T> stream, int chunkSize, Consumer<List<T>> chunkAction) {
+        Iterator<T> iterator = stream.iterator();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize) {
+                chunkAction.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            chunkAction.accept(chunk);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- вставки мимо Hibernate берут идентификаторы из тех же items_seq и users_seq
+ALTER TABLE items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_seq;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
@@ -0,0 +1,32 @@
+-- нечёткий поиск вещей (shareit.search.mode=trigram)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm
+	ON items USING GIN (translate(lower(name), 'ё', 'е') gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm
+	ON items USING GIN (translate(lower(description), 'ё', 'е') gin_trgm_ops);
+
+-- полнотекстовый поиск вещей (shareit.search.mode=fulltext), название весомее описания
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+	GENERATED ALWAYS AS (
+		setweight(to_tsvector('russian', name), 'A')
+		|| setweight(to_tsvector('english', name), 'A')
+		|| setweight(to_tsvector('russian', description), 'B')
+		|| setweight(to_tsvector('english', description), 'B')
+	) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_items_search_vector ON items USING GIN (search_vector);
+
+-- вставки мимо Hibernate берут идентификаторы из тех же items_seq и users_seq;
+-- identity прежних версий схемы снимается
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+-- items_seq и users_seq появились позже identity-столбцов: в существующей БД последовательности
+-- сдвигаются за уже выданные идентификаторы
+SELECT setval('items_seq', (SELECT max(id) FROM items))
+WHERE (SELECT max(id) FROM items) >= (SELECT last_value FROM items_seq);
+SELECT setval('users_seq', (SELECT max(id) FROM users))
+WHERE (SELECT max(id) FROM users) >= (SELECT last_value FROM users_seq);
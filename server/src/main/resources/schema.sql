@@ -1,6 +1,9 @@
--- users
+-- users, идентификаторы выдаются Hibernate из users_seq блоками по 50 (pooled-lo) для пакетного импорта.
+-- Как и у items, других генераторов нет, значение по умолчанию задаётся в скрипте конкретной СУБД
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
-	id			BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+	id			BIGINT NOT NULL,
 	name		VARCHAR(255) NOT NULL,
 	email		VARCHAR(512) NOT NULL,
 	CONSTRAINT pk_users PRIMARY KEY (id),
@@ -17,9 +20,13 @@ CREATE TABLE IF NOT EXISTS requests (
 	CONSTRAINT fk_requests_requestor_id FOREIGN KEY (requestor_id) REFERENCES users(id)
 );
 
--- items
+-- items, идентификаторы выдаются Hibernate из items_seq блоками по 50 (pooled-lo) для пакетной вставки.
+-- Единственный генератор - items_seq: значение по умолчанию для вставок мимо Hibernate задаётся
+-- в скрипте конкретной СУБД, синтаксис nextval у них разный
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS items (
-	id				BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+	id				BIGINT NOT NULL,
 	name			VARCHAR(255) NOT NULL,
 	description		TEXT NOT NULL,
 	is_available	BOOLEAN NOT NULL,
@@ -30,6 +37,8 @@ CREATE TABLE IF NOT EXISTS items (
 	CONSTRAINT fk_items_request_id FOREIGN KEY (request_id) REFERENCES requests(id)
 );
 
+CREATE INDEX IF NOT EXISTS ix_items_owner_id ON items (owner_id);
+
 -- bookings
 CREATE TABLE IF NOT EXISTS bookings (
 	id			BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -43,6 +52,10 @@ CREATE TABLE IF NOT EXISTS bookings (
 	CONSTRAINT fk_bookings_booker_id FOREIGN KEY (booker_id) REFERENCES users(id)
 );
 
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start_id ON bookings (booker_id, start_date, id);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start_id ON bookings (item_id, start_date, id);
+
 -- comments
 CREATE TABLE IF NOT EXISTS comments (
 	id			BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
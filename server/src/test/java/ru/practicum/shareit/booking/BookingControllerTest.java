@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
@@ -9,19 +10,31 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingBookerDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.*;
@@ -176,6 +189,35 @@ class BookingControllerTest {
         verifyNoMoreInteractions(bookingService);
     }
 
+    @Test
+    void approveBatch_returnsOutcomesInRequestOrder() throws Exception {
+        // given
+        Long ownerId = 1L;
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(10L, true),
+                new BookingDecisionDto(11L, false)
+        );
+        when(bookingService.approveAll(eq(ownerId), anyList()))
+                .thenReturn(List.of(
+                        new BookingDecisionResultDto(10L, BookingDecisionOutcome.APPROVED, null),
+                        new BookingDecisionResultDto(11L, BookingDecisionOutcome.NOT_WAITING, "Бронирование уже обработано")
+                ));
+
+        // when/then
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId", is(10L), Long.class))
+                .andExpect(jsonPath("$[0].outcome", is("APPROVED")))
+                .andExpect(jsonPath("$[1].outcome", is("NOT_WAITING")));
+
+        // verify
+        verify(bookingService).approveAll(eq(ownerId), anyList());
+        verifyNoMoreInteractions(bookingService);
+    }
+
     @Test
     void get_returnsDto() throws Exception {
         // given
@@ -209,7 +251,8 @@ class BookingControllerTest {
     void byBooker_defaultStateAll_returnsDtoList() throws Exception {
         // given
         Long userId = 2L;
-        when(bookingService.getByBooker(userId, BookingState.ALL)).thenReturn(List.of());
+        when(bookingService.getByBooker(userId, BookingState.ALL, null, null))
+                .thenReturn(new BookingPageDto(List.of(), null));
 
         // when/then
         mockMvc.perform(get("/bookings")
@@ -218,7 +261,7 @@ class BookingControllerTest {
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
         // verify
-        verify(bookingService).getByBooker(userId, BookingState.ALL);
+        verify(bookingService).getByBooker(userId, BookingState.ALL, null, null);
         verifyNoMoreInteractions(bookingService);
     }
 
@@ -226,8 +269,8 @@ class BookingControllerTest {
     void byOwner_stateWaiting_returnsDtoList() throws Exception {
         // given
         Long ownerId = 1L;
-        when(bookingService.getByOwner(ownerId, BookingState.WAITING))
-                .thenReturn(List.of());
+        when(bookingService.getByOwner(ownerId, BookingState.WAITING, null, null))
+                .thenReturn(new BookingPageDto(List.of(), null));
 
         // when/then
         mockMvc.perform(get("/bookings/owner")
@@ -237,7 +280,86 @@ class BookingControllerTest {
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
         // verify
-        verify(bookingService).getByOwner(ownerId, BookingState.WAITING);
+        verify(bookingService).getByOwner(ownerId, BookingState.WAITING, null, null);
+        verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    void byBooker_acceptNdjson_streamsDtoPerLine() throws Exception {
+        // given
+        Long userId = 2L;
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDto> bookingDtos = List.of(
+                new BookingDto(1L, now, now.plusDays(1), new BookingItemDto(10L, "I"),
+                        new BookingBookerDto(userId), BookingStatus.WAITING),
+                new BookingDto(2L, now, now.plusDays(2), new BookingItemDto(10L, "I"),
+                        new BookingBookerDto(userId), BookingStatus.APPROVED)
+        );
+        doAnswer(invocation -> {
+            Consumer<BookingDto> action = invocation.getArgument(2);
+            bookingDtos.forEach(action);
+            return null;
+        }).when(bookingService).streamByBooker(eq(userId), eq(BookingState.ALL), any());
+
+        // when/then
+        String body = mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<Long> ids = body.lines()
+                .map(line -> readTree(line).get("id").asLong())
+                .toList();
+        assertThat(ids, contains(1L, 2L));
+
+        // verify
+        verify(bookingService).streamByBooker(eq(userId), eq(BookingState.ALL), any());
+        verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    void byOwner_acceptNdjson_unknownOwner_returns404() throws Exception {
+        // given
+        Long ownerId = 404L;
+        doThrow(new NotFoundException("not found"))
+                .when(bookingService).streamByOwner(eq(ownerId), eq(BookingState.ALL), any());
+
+        // when/then
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Test
+    void byOwner_withLimit_returnsNextCursorHeader() throws Exception {
+        // given
+        Long ownerId = 1L;
+        when(bookingService.getByOwner(ownerId, BookingState.ALL, 2, "cursor"))
+                .thenReturn(new BookingPageDto(List.of(), "nextCursor"));
+
+        // when/then
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("limit", "2")
+                        .param("cursor", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER, "nextCursor"));
+
+        // verify
+        verify(bookingService).getByOwner(ownerId, BookingState.ALL, 2, "cursor");
         verifyNoMoreInteractions(bookingService);
     }
 }
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.booking.service;
+
+import com.sun.management.ThreadMXBean;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+    Сравнение выборки списка бронирований сущностями (join fetch) и проекцией BookingView.
+    Не входит в обычный прогон тестов, запуск: mvn -pl server test -Pbenchmark [-Dbenchmark.bookings=10000]
+*/
+@Slf4j
+@ActiveProfiles("test")
+@DirtiesContext
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingListBenchmark {
+
+    private static final int BOOKINGS = Integer.getInteger("benchmark.bookings", 10_000);
+    private static final int ITEMS = 100;
+    private static final int INSERT_BATCH = 1_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void entitiesVersusProjection() {
+        Long bookerId = fillBookings();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<List<BookingDto>> entities = () -> readOnly.execute(status -> entityManager.createQuery("""
+                        select b
+                        from Booking b
+                        join fetch b.item i
+                        join fetch b.booker u
+                        where u.id = :bookerId
+                        order by b.start desc, b.id desc
+                        """, Booking.class)
+                .setParameter("bookerId", bookerId)
+                .getResultList().stream()
+                .map(bookingMapper::toBookingDto)
+                .toList());
+        Supplier<List<BookingDto>> projection = () -> readOnly.execute(status ->
+                bookingRepository.findAllByBooker(bookerId, BookingCursor.FIRST.getStart(),
+                                BookingCursor.FIRST.getId(), Limit.unlimited()).stream()
+                        .map(bookingMapper::toBookingDto)
+                        .toList());
+
+        Measurement entitiesResult = measure(entities);
+        Measurement projectionResult = measure(projection);
+        log.info("Список из {} бронирований, сущности: {} мс, {} КБ на запрос", BOOKINGS,
+                String.format("%.2f", entitiesResult.millis()), entitiesResult.allocatedBytes() / 1024);
+        log.info("Список из {} бронирований, проекция: {} мс, {} КБ на запрос", BOOKINGS,
+                String.format("%.2f", projectionResult.millis()), projectionResult.allocatedBytes() / 1024);
+    }
+
+    private Long fillBookings() {
+        jdbcTemplate.update("insert into users (name, email) values ('owner', 'owner@benchmark.test')");
+        jdbcTemplate.update("insert into users (name, email) values ('booker', 'booker@benchmark.test')");
+        Long ownerId = jdbcTemplate.queryForObject("select id from users where email = 'owner@benchmark.test'", Long.class);
+        Long bookerId = jdbcTemplate.queryForObject("select id from users where email = 'booker@benchmark.test'", Long.class);
+
+        List<Object[]> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Object[]{"Вещь " + i, "Описание вещи " + i, true, ownerId});
+        }
+        jdbcTemplate.batchUpdate("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("select id from items where owner_id = ?", Long.class, ownerId);
+
+        LocalDateTime base = LocalDateTime.now().minusYears(1);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = base.plusHours(i);
+            batch.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(30)),
+                    itemIds.get(i % ITEMS), bookerId, "APPROVED"});
+            if (batch.size() == INSERT_BATCH) {
+                insertBookings(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBookings(batch);
+        }
+        return bookerId;
+    }
+
+    private void insertBookings(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "insert into bookings (start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?)", batch);
+    }
+
+    private static Measurement measure(Supplier<List<BookingDto>> query) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            query.get();
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            query.get();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / MEASURE_ROUNDS;
+        long allocatedBytes = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / MEASURE_ROUNDS;
+        return new Measurement(millis, allocatedBytes);
+    }
+
+    private record Measurement(double millis, long allocatedBytes) {
+    }
+}
@@ -8,18 +8,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -112,6 +120,110 @@ class BookingServiceIntegrationTest {
         assertThat(booking.getStatus(), equalTo(BookingStatus.APPROVED));
     }
 
+    @Test
+    void create_overlappingPeriod_throwsConflict_adjacentPeriodAllowed() {
+        // given
+        User owner = user("owner");
+        User booker = user("booker");
+        User other = user("other");
+        Item item = item(owner.getId(), "I", true);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        bookingService.create(booker.getId(), new NewBookingDto(now.plusDays(1), now.plusDays(3), item.getId()));
+
+        // when
+        NewBookingDto overlapping = new NewBookingDto(now.plusDays(2), now.plusDays(4), item.getId());
+        NewBookingDto adjacent = new NewBookingDto(now.plusDays(3), now.plusDays(4), item.getId());
+
+        // then
+        assertThrows(ConflictException.class, () -> bookingService.create(other.getId(), overlapping));
+        BookingDto created = bookingService.create(other.getId(), adjacent);
+        assertThat(created.getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void approve_rejected_releasesPeriodForNewBookings() {
+        // given
+        User owner = user("owner");
+        User booker = user("booker");
+        User other = user("other");
+        Item item = item(owner.getId(), "I", true);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        NewBookingDto period = new NewBookingDto(now.plusDays(1), now.plusDays(2), item.getId());
+        BookingDto created = bookingService.create(booker.getId(), period);
+
+        // when
+        bookingService.approve(owner.getId(), created.getId(), false);
+        BookingDto rebooked = bookingService.create(other.getId(), period);
+
+        // then
+        assertThat(rebooked.getId(), not(equalTo(created.getId())));
+        assertThat(rebooked.getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void approveAll_appliesDecisions_andReportsOutcomePerBooking() {
+        // given
+        User owner = user("owner");
+        User stranger = user("stranger");
+        User booker = user("booker");
+        Item item = item(owner.getId(), "I", true);
+        Item strangersItem = item(stranger.getId(), "S", true);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        Booking toApprove = persist(item, booker, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        Booking toReject = persist(item, booker, now.plusDays(3), now.plusDays(4), BookingStatus.WAITING);
+        Booking alreadyApproved = persist(item, booker, now.plusDays(5), now.plusDays(6), BookingStatus.APPROVED);
+        Booking notOwned = persist(strangersItem, booker, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+
+        // when
+        List<BookingDecisionResultDto> results = bookingService.approveAll(owner.getId(), List.of(
+                new BookingDecisionDto(toApprove.getId(), true),
+                new BookingDecisionDto(toReject.getId(), false),
+                new BookingDecisionDto(alreadyApproved.getId(), false),
+                new BookingDecisionDto(notOwned.getId(), true),
+                new BookingDecisionDto(Long.MAX_VALUE, true),
+                new BookingDecisionDto(toApprove.getId(), false)
+        ));
+
+        // then
+        assertThat(results.stream().map(BookingDecisionResultDto::getOutcome).toList(), contains(
+                BookingDecisionOutcome.APPROVED,
+                BookingDecisionOutcome.REJECTED,
+                BookingDecisionOutcome.NOT_WAITING,
+                BookingDecisionOutcome.FORBIDDEN,
+                BookingDecisionOutcome.NOT_FOUND,
+                BookingDecisionOutcome.DUPLICATE));
+
+        assertThat(entityManager.find(Booking.class, toApprove.getId()).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(entityManager.find(Booking.class, toReject.getId()).getStatus(), equalTo(BookingStatus.REJECTED));
+        assertThat(entityManager.find(Booking.class, alreadyApproved.getId()).getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(entityManager.find(Booking.class, notOwned.getId()).getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void approveAll_onlyRejections_releasePeriodsForNewBookings() {
+        // given
+        User owner = user("owner");
+        User booker = user("booker");
+        User other = user("other");
+        Item item = item(owner.getId(), "I", true);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        NewBookingDto period = new NewBookingDto(now.plusDays(1), now.plusDays(2), item.getId());
+        BookingDto created = bookingService.create(booker.getId(), period);
+
+        // when
+        List<BookingDecisionResultDto> results = bookingService.approveAll(owner.getId(),
+                List.of(new BookingDecisionDto(created.getId(), false)));
+        BookingDto rebooked = bookingService.create(other.getId(), period);
+
+        // then
+        assertThat(results.getFirst().getOutcome(), equalTo(BookingDecisionOutcome.REJECTED));
+        assertThat(rebooked.getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
     @Test
     void byBooker_filtersByState_sortedDesc() {
         // given
@@ -132,25 +244,25 @@ class BookingServiceIntegrationTest {
         persist(item, booker, now.plusDays(5), now.plusDays(6), BookingStatus.REJECTED);
 
         // when/then
-        List<BookingDto> all = (List<BookingDto>) bookingService.getByBooker(booker.getId(), BookingState.ALL);
+        List<BookingDto> all = bookingService.getByBooker(booker.getId(), BookingState.ALL, null, null).getBookings();
         assertThat(all, hasSize(5));
         assertThat(all.getFirst().getStart(), greaterThan(all.get(1).getStart()));
 
-        List<BookingDto> past = (List<BookingDto>) bookingService.getByBooker(booker.getId(), BookingState.PAST);
+        List<BookingDto> past = bookingService.getByBooker(booker.getId(), BookingState.PAST, null, null).getBookings();
         assertThat(past, everyItem(hasProperty("end", lessThan(now))));
 
-        List<BookingDto> future = (List<BookingDto>) bookingService.getByBooker(booker.getId(), BookingState.FUTURE);
+        List<BookingDto> future = bookingService.getByBooker(booker.getId(), BookingState.FUTURE, null, null).getBookings();
         assertThat(future, everyItem(hasProperty("start", greaterThan(now))));
 
-        List<BookingDto> current = (List<BookingDto>) bookingService.getByBooker(booker.getId(), BookingState.CURRENT);
+        List<BookingDto> current = bookingService.getByBooker(booker.getId(), BookingState.CURRENT, null, null).getBookings();
         assertThat(current, hasSize(1));
         assertThat(current.getFirst().getStart(), lessThanOrEqualTo(now));
         assertThat(current.getFirst().getEnd(), greaterThanOrEqualTo(now));
 
-        List<BookingDto> waiting = (List<BookingDto>) bookingService.getByBooker(booker.getId(), BookingState.WAITING);
+        List<BookingDto> waiting = bookingService.getByBooker(booker.getId(), BookingState.WAITING, null, null).getBookings();
         assertThat(waiting, everyItem(hasProperty("status", is(BookingStatus.WAITING))));
 
-        List<BookingDto> rejected = (List<BookingDto>) bookingService.getByBooker(booker.getId(), BookingState.REJECTED);
+        List<BookingDto> rejected = bookingService.getByBooker(booker.getId(), BookingState.REJECTED, null, null).getBookings();
         assertThat(rejected, everyItem(hasProperty("status", is(BookingStatus.REJECTED))));
     }
 
@@ -170,17 +282,102 @@ class BookingServiceIntegrationTest {
         persist(item, booker, now.plusDays(3), now.plusDays(4), BookingStatus.WAITING);
 
         // when/then
-        List<BookingDto> all = (List<BookingDto>) bookingService.getByOwner(owner.getId(), BookingState.ALL);
+        List<BookingDto> all = bookingService.getByOwner(owner.getId(), BookingState.ALL, null, null).getBookings();
         assertThat(all, hasSize(3));
 
-        List<BookingDto> future = (List<BookingDto>) bookingService.getByOwner(owner.getId(), BookingState.FUTURE);
+        List<BookingDto> future = bookingService.getByOwner(owner.getId(), BookingState.FUTURE, null, null).getBookings();
         assertThat(future, hasSize(2));
 
-        List<BookingDto> waiting = (List<BookingDto>) bookingService.getByOwner(owner.getId(), BookingState.WAITING);
+        List<BookingDto> waiting = bookingService.getByOwner(owner.getId(), BookingState.WAITING, null, null).getBookings();
         assertThat(waiting, hasSize(1));
         assertThat(waiting.getFirst().getStatus(), is(BookingStatus.WAITING));
     }
 
+    @Test
+    void byBookerAndByOwner_pagesByCursor_withoutGapsAndDuplicates() {
+        // given
+        User owner = user("owner");
+        User booker = user("booker");
+        Item item = item(owner.getId(), "I", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        // два бронирования с одинаковым start проверяют разбор равенства по id
+        persist(item, booker, start, start.plusDays(1), BookingStatus.WAITING);
+        persist(item, booker, start, start.plusDays(1), BookingStatus.WAITING);
+        persist(item, booker, start.plusDays(2), start.plusDays(3), BookingStatus.WAITING);
+        persist(item, booker, start.plusDays(4), start.plusDays(5), BookingStatus.WAITING);
+        persist(item, booker, start.plusDays(6), start.plusDays(7), BookingStatus.WAITING);
+
+        List<BookingDto> expected = bookingService.getByBooker(booker.getId(), BookingState.WAITING, null, null)
+                .getBookings();
+
+        // when
+        List<BookingDto> byBooker = new ArrayList<>();
+        List<BookingDto> byOwner = new ArrayList<>();
+        String bookerCursor = null;
+        String ownerCursor = null;
+        int pagesCount = 0;
+        do {
+            BookingPageDto bookerPage = bookingService.getByBooker(
+                    booker.getId(), BookingState.WAITING, 2, bookerCursor);
+            BookingPageDto ownerPage = bookingService.getByOwner(
+                    owner.getId(), BookingState.WAITING, 2, ownerCursor);
+            assertThat(bookerPage.getBookings().size(), lessThanOrEqualTo(2));
+
+            byBooker.addAll(bookerPage.getBookings());
+            byOwner.addAll(ownerPage.getBookings());
+            bookerCursor = bookerPage.getNextCursor();
+            ownerCursor = ownerPage.getNextCursor();
+            pagesCount++;
+        } while (bookerCursor != null);
+
+        // then
+        assertThat(pagesCount, is(3));
+        assertThat(ownerCursor, nullValue());
+        assertThat(expected, hasSize(5));
+        assertThat(byBooker, equalTo(expected));
+        assertThat(byOwner, equalTo(expected));
+    }
+
+    @Test
+    void streamByBookerAndByOwner_returnSameAsUnboundedFeeds() {
+        // given
+        User owner = user("owner");
+        User booker = user("booker");
+        Item item = item(owner.getId(), "I", true);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        persist(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        persist(item, booker, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        persist(item, booker, now.plusDays(3), now.plusDays(4), BookingStatus.REJECTED);
+
+        List<BookingDto> expected = bookingService.getByBooker(booker.getId(), BookingState.ALL, null, null)
+                .getBookings();
+
+        // when
+        List<BookingDto> streamedByBooker = new ArrayList<>();
+        bookingService.streamByBooker(booker.getId(), BookingState.ALL, streamedByBooker::add);
+        List<BookingDto> streamedByOwner = new ArrayList<>();
+        bookingService.streamByOwner(owner.getId(), BookingState.ALL, streamedByOwner::add);
+
+        // then
+        assertThat(expected, hasSize(3));
+        assertThat(streamedByBooker, equalTo(expected));
+        assertThat(streamedByOwner, equalTo(expected));
+    }
+
+    @Test
+    void byBooker_incorrectCursorOrLimit_throwsValidation() {
+        // given
+        User booker = user("booker");
+
+        // when/then
+        assertThrows(ValidationException.class,
+                () -> bookingService.getByBooker(booker.getId(), BookingState.ALL, 2, "not a cursor"));
+        assertThrows(ValidationException.class,
+                () -> bookingService.getByBooker(booker.getId(), BookingState.ALL, 0, null));
+    }
+
     @Test
     void get_allowedForBookerAndOwner_forbiddenForOthers() {
         // given
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Сравнение p99 обмена шлюза с сервером по HTTP/1.1 и по HTTP/2 без TLS (h2c) при высокой конкурентности.
+    Сервер запускается с server.http2.enabled=true и принимает оба протокола на одном порту. Одновременных
+    запросов в обоих режимах не больше in-flight - как в шлюзе, где их ограничивает пул соединений (HTTP/1.1,
+    по соединению на запрос) или лимит потоков одного соединения (HTTP/2). Не входит в обычный прогон тестов, запуск:
+    mvn -pl server test -Pbenchmark -Dtest=Http2Benchmark [-Dbenchmark.clients=400] [-Dbenchmark.in-flight=200]
+*/
+@Slf4j
+class Http2Benchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int IN_FLIGHT = Integer.getInteger("benchmark.in-flight", 200);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int USERS = 50;
+    private static final int ITEMS_PER_USER = 20;
+
+    @Test
+    void http11VersusH2c() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .properties(Map.of(
+                        "server.port", "0",
+                        "spring.datasource.url", "jdbc:h2:mem:benchmark-http2",
+                        "server.http2.enabled", "true",
+                        "shareit.http2.max-concurrent-streams", String.valueOf(IN_FLIGHT)))
+                .run()) {
+            List<Long> userIds = fill(context.getBean(JdbcTemplate.class));
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            log(run(HttpClient.Version.HTTP_1_1, port, userIds));
+            log(run(HttpClient.Version.HTTP_2, port, userIds));
+        }
+    }
+
+    private static Result run(HttpClient.Version version, int port, List<Long> userIds) throws Exception {
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(version)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            // Первый запрос в одиночку: при HTTP/2 он переводит соединение на h2c, и остальные идут уже потоками
+            HttpResponse<Void> upgrade = client.send(request(port, userIds.getFirst()), HttpResponse.BodyHandlers.discarding());
+            load(client, port, userIds, WARMUP_REQUESTS);
+            long start = System.nanoTime();
+            Load load = load(client, port, userIds, REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return new Result(upgrade.version(), REQUESTS / seconds, percentile(load.latencies(), 0.5),
+                    percentile(load.latencies(), 0.99), load.failures());
+        }
+    }
+
+    private static List<Long> fill(JdbcTemplate jdbcTemplate) {
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"Пользователь " + i, "user" + i + "@benchmark.test"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (name, email) values (?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("select id from users order by id", Long.class);
+
+        List<Object[]> items = new ArrayList<>(USERS * ITEMS_PER_USER);
+        for (Long userId : userIds) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                items.add(new Object[]{"Вещь " + i, "Описание вещи " + i, true, userId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)", items);
+        return userIds;
+    }
+
+    private static Load load(HttpClient client, int port, List<Long> userIds, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicLong next = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        Semaphore inFlight = new Semaphore(IN_FLIGHT);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = (int) next.getAndIncrement(); i < requests; i = (int) next.getAndIncrement()) {
+                        HttpRequest request = request(port, userIds.get(i % userIds.size()));
+                        // Задержка считается с момента запроса, включая ожидание свободного соединения или потока
+                        long start = System.nanoTime();
+                        inFlight.acquire();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return new Load(latencies, failures.get());
+    }
+
+    private static HttpRequest request(int port, Long userId) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                .header("Accept", "application/json")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    private static double percentile(long[] latencies, double percentile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static void log(Result result) {
+        log.info("{}: {} запросов/с, p50 {} мс, p99 {} мс, ошибок {}", result.version(),
+                String.format("%.0f", result.throughput()), String.format("%.2f", result.p50()),
+                String.format("%.2f", result.p99()), result.failures());
+    }
+
+    private record Load(long[] latencies, long failures) {
+    }
+
+    private record Result(HttpClient.Version version, double throughput, double p50, double p99, long failures) {
+    }
+}
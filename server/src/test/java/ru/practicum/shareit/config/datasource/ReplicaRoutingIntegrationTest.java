@@ -0,0 +1,173 @@
+package ru.practicum.shareit.config.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.user.dto.NewUserDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*
+    Основная БД и реплика - две независимые H2 в памяти без репликации,
+    поэтому по видимости строки понятно, куда ушёл запрос
+*/
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "shareit.datasource.replicas.urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+                "shareit.datasource.replicas.lag-query=select seconds from replica_lag",
+                "shareit.datasource.replicas.lag-check-interval=1h"
+        }
+)
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica;DB_CLOSE_DELAY=-1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReadYourWrites readYourWrites;
+    private final UserService userService;
+    private final ItemNameSuggester itemNameSuggester;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "shareit", "shareit"));
+
+    @BeforeEach
+    void setUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("schema-h2.sql"))
+                .execute(replica.getDataSource());
+        replica.execute("create table if not exists replica_lag (seconds double precision)");
+        replica.update("delete from replica_lag");
+        replica.update("insert into replica_lag (seconds) values (0)");
+        routingDataSource.refreshReplicaLag();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        readYourWrites.unbind();
+        jdbcTemplate.update("delete from items where owner_id in (select id from users where email like '%@replica.test')");
+        jdbcTemplate.update("delete from users where email like '%@replica.test'");
+        replica.update("delete from users where email like '%@replica.test'");
+    }
+
+    @Test
+    void readOnlyTransaction_readsFromReplica_writeTransactionFromPrimary() {
+        // given
+        replica.update("insert into users (name, email) values ('replica', 'replica@replica.test')");
+        write("primary@replica.test");
+
+        // when / then
+        assertThat(readOnlyCount("replica@replica.test"), equalTo(1));
+        assertThat(readOnlyCount("primary@replica.test"), equalTo(0));
+        assertThat(readWriteCount("primary@replica.test"), equalTo(1));
+    }
+
+    @Test
+    void afterWrite_sameUserReadsFromPrimary_otherUsersFromReplica() {
+        // given
+        readYourWrites.bind(1L);
+        write("writer@replica.test");
+
+        // when / then
+        assertThat(readOnlyCount("writer@replica.test"), equalTo(1));
+
+        readYourWrites.bind(2L);
+        assertThat(readOnlyCount("writer@replica.test"), equalTo(0));
+    }
+
+    @Test
+    void laggingReplica_readsFallBackToPrimary() {
+        // given
+        write("lagging@replica.test");
+
+        // when
+        replica.update("update replica_lag set seconds = 60");
+        routingDataSource.refreshReplicaLag();
+
+        // then
+        assertThat(readOnlyCount("lagging@replica.test"), equalTo(1));
+    }
+
+    @Test
+    void createdUser_readsFromPrimaryRightAfterCreation() {
+        // given
+        UserDto created = userService.add(new NewUserDto("created", "created@replica.test"));
+
+        // when
+        readYourWrites.bind(created.getId());
+
+        // then
+        assertThat(readOnlyCount("created@replica.test"), equalTo(1));
+    }
+
+    @Test
+    void replicaMiss_isNotCachedAsMissing() {
+        // given
+        write("missing-on-replica@replica.test");
+        Long id = jdbcTemplate.queryForObject("select id from users where email = ?", Long.class,
+                "missing-on-replica@replica.test");
+        readYourWrites.bind(2L);
+        assertThrows(NotFoundException.class, () -> userService.find(id));
+
+        // when
+        replica.update("update replica_lag set seconds = 60");
+        routingDataSource.refreshReplicaLag();
+
+        // then
+        assertThat(userService.find(id).getEmail(), equalTo("missing-on-replica@replica.test"));
+    }
+
+    @Test
+    void indexRebuild_readsFromPrimary() {
+        // given
+        write("indexed@replica.test");
+        Long ownerId = jdbcTemplate.queryForObject("select id from users where email = ?", Long.class,
+                "indexed@replica.test");
+        jdbcTemplate.update("insert into items (name, description, is_available, owner_id) values (?, 'd', true, ?)",
+                "Репликация-дрель", ownerId);
+
+        // when
+        itemNameSuggester.rebuild();
+
+        // then
+        assertThat(itemNameSuggester.suggest("репликация-", 10), contains("Репликация-дрель"));
+    }
+
+    private void write(String email) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("insert into users (name, email) values ('user', ?)", email));
+    }
+
+    private int readOnlyCount(String email) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> count(email));
+    }
+
+    private int readWriteCount(String email) {
+        return new TransactionTemplate(transactionManager).execute(status -> count(email));
+    }
+
+    private int count(String email) {
+        return jdbcTemplate.queryForObject("select count(*) from users where email = ?", Integer.class, email);
+    }
+}
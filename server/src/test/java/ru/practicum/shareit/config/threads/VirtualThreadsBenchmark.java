@@ -0,0 +1,163 @@
+package ru.practicum.shareit.config.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Сравнение пропускной способности и p99 сервера с потоками платформы и с виртуальными потоками.
+    Каждый режим поднимает своё приложение на случайном порту со своей базой H2, клиенты параллельно
+    запрашивают список вещей владельца с бронированиями. Не входит в обычный прогон тестов, запуск:
+    mvn -pl server test -Pbenchmark [-Dbenchmark.clients=400] [-Dbenchmark.requests=20000]
+*/
+@Slf4j
+class VirtualThreadsBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int OWNERS = 50;
+    private static final int ITEMS_PER_OWNER = 20;
+    private static final int BOOKINGS_PER_ITEM = 5;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+        log(platform);
+        log(virtual);
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .properties(Map.of(
+                        "server.port", "0",
+                        "spring.datasource.url", "jdbc:h2:mem:benchmark-" + mode,
+                        "spring.threads.virtual.enabled", String.valueOf(virtualThreads)))
+                .run()) {
+            List<Long> ownerIds = fill(context.getBean(JdbcTemplate.class));
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+            try (HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build()) {
+                load(client, port, ownerIds, WARMUP_REQUESTS);
+                long start = System.nanoTime();
+                Load load = load(client, port, ownerIds, REQUESTS);
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+                long pinned = context.getBeansOfType(MeterRegistry.class).values().stream()
+                        .flatMap(registry -> registry.find(VirtualThreadPinningMonitor.PINNED_METRIC).timers().stream())
+                        .mapToLong(Timer::count)
+                        .sum();
+                return new Result(mode, REQUESTS / seconds, percentile(load.latencies(), 0.5),
+                        percentile(load.latencies(), 0.99), load.failures(), pinned);
+            }
+        }
+    }
+
+    private static List<Long> fill(JdbcTemplate jdbcTemplate) {
+        List<Object[]> owners = new ArrayList<>(OWNERS + 1);
+        for (int i = 0; i <= OWNERS; i++) {
+            owners.add(new Object[]{"Пользователь " + i, "user" + i + "@benchmark.test"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (name, email) values (?, ?)", owners);
+        List<Long> userIds = jdbcTemplate.queryForList("select id from users order by id", Long.class);
+        Long bookerId = userIds.getLast();
+        List<Long> ownerIds = userIds.subList(0, OWNERS);
+
+        List<Object[]> items = new ArrayList<>(OWNERS * ITEMS_PER_OWNER);
+        for (Long ownerId : ownerIds) {
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                items.add(new Object[]{"Вещь " + i, "Описание вещи " + i, true, ownerId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)", items);
+
+        LocalDateTime base = LocalDateTime.now().minusDays(BOOKINGS_PER_ITEM / 2);
+        List<Object[]> bookings = new ArrayList<>();
+        for (Long itemId : jdbcTemplate.queryForList("select id from items", Long.class)) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = base.plusDays(i);
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                        itemId, bookerId, "APPROVED"});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into bookings (start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?)", bookings);
+        return ownerIds;
+    }
+
+    private static Load load(HttpClient client, int port, List<Long> ownerIds, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicLong next = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = (int) next.getAndIncrement(); i < requests; i = (int) next.getAndIncrement()) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                                .header("Accept", "application/json")
+                                .header("X-Sharer-User-Id", String.valueOf(ownerIds.get(i % ownerIds.size())))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[i] = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return new Load(latencies, failures.get());
+    }
+
+    private static double percentile(long[] latencies, double percentile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static void log(Result result) {
+        log.info("Потоки {}: {} запросов/с, p50 {} мс, p99 {} мс, ошибок {}, закреплений {}", result.mode(),
+                String.format("%.0f", result.throughput()), String.format("%.2f", result.p50()),
+                String.format("%.2f", result.p99()), result.failures(), result.pinned());
+    }
+
+    private record Load(long[] latencies, long failures) {
+    }
+
+    private record Result(String mode, double throughput, double p50, double p99, long failures, long pinned) {
+    }
+}
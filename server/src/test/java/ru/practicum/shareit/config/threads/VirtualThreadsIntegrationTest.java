@@ -0,0 +1,164 @@
+package ru.practicum.shareit.config.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.threads.virtual.enabled=true",
+                "shareit.threads.virtual.max-concurrent-requests=1",
+                "shareit.threads.virtual.permit-timeout=100ms",
+                "shareit.threads.virtual.pinning-threshold=10ms"
+        }
+)
+class VirtualThreadsIntegrationTest {
+
+    private static final long PINNED_EVENT_WAIT_MILLIS = 10_000;
+
+    private final FilterRegistrationBean<ConnectionPermitFilter> connectionPermitFilter;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void permitFilter_noFreePermit_returns503() throws Exception {
+        // given
+        ConnectionPermitFilter filter = connectionPermitFilter.getFilter();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            entered.countDown();
+                            awaitQuietly(release);
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS), equalTo(true));
+
+        // when
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), rejected, new MockFilterChain());
+        release.countDown();
+        holder.join();
+
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), accepted, new MockFilterChain());
+
+        // then
+        assertThat(rejected.getStatus(), equalTo(503));
+        assertThat(rejected.getContentAsString(), containsString(ConnectionPermitFilter.MSG_OVERLOADED));
+        assertThat(accepted.getStatus(), equalTo(200));
+    }
+
+    @Test
+    void permitFilter_actuatorAndNdjsonRequests_passWithoutPermit() throws Exception {
+        // given
+        ConnectionPermitFilter filter = connectionPermitFilter.getFilter();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            entered.countDown();
+                            awaitQuietly(release);
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS), equalTo(true));
+
+        MockHttpServletRequest health = new MockHttpServletRequest("GET", "/actuator/health");
+        health.setServletPath("/actuator/health");
+        MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/items");
+        stream.setServletPath("/items");
+        stream.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE);
+        MockHttpServletRequest importing = new MockHttpServletRequest("POST", "/users/import");
+        importing.setServletPath("/users/import");
+        importing.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        // when
+        MockHttpServletResponse healthResponse = new MockHttpServletResponse();
+        filter.doFilter(health, healthResponse, new MockFilterChain());
+        MockHttpServletResponse streamResponse = new MockHttpServletResponse();
+        filter.doFilter(stream, streamResponse, new MockFilterChain());
+        MockHttpServletResponse importResponse = new MockHttpServletResponse();
+        filter.doFilter(importing, importResponse, new MockFilterChain());
+        release.countDown();
+        holder.join();
+
+        // then
+        assertThat(healthResponse.getStatus(), equalTo(200));
+        assertThat(streamResponse.getStatus(), equalTo(200));
+        assertThat(importResponse.getStatus(), equalTo(200));
+    }
+
+    @Test
+    void pinningMonitor_synchronizedBlockingCall_recordsPinnedSite() throws Exception {
+        // given
+        Object lock = new Object();
+
+        // when
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleepQuietly(50);
+            }
+        }).join();
+
+        // then
+        long deadline = System.currentTimeMillis() + PINNED_EVENT_WAIT_MILLIS;
+        while (pinnedCount() == 0 && System.currentTimeMillis() < deadline) {
+            sleepQuietly(100);
+        }
+        assertThat(pinnedCount(), greaterThan(0L));
+        assertThat(meterRegistry.find(VirtualThreadPinningMonitor.PINNED_METRIC).timers().stream()
+                .anyMatch(timer -> timer.getId().getTag("site").startsWith(getClass().getName())), equalTo(true));
+    }
+
+    private long pinnedCount() {
+        return meterRegistry.find(VirtualThreadPinningMonitor.PINNED_METRIC).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -64,6 +64,36 @@ class ItemControllerTest {
         verifyNoMoreInteractions(itemService);
     }
 
+    @Test
+    void createBatch_returnsDtosInOrder() throws Exception {
+        // given
+        Long xSharerUserId = 1L;
+        List<NewItemDto> newItemDtos = List.of(
+                new NewItemDto("Дрель", "Ударная", true, null),
+                new NewItemDto("Палатка", "Трёхместная", true, 42L));
+
+        List<ItemDto> itemDtos = List.of(
+                new ItemDto(10L, "Дрель", "Ударная", true, List.of()),
+                new ItemDto(11L, "Палатка", "Трёхместная", true, List.of()));
+
+        when(itemService.addAll(newItemDtos, xSharerUserId))
+                .thenReturn(itemDtos);
+
+        // when/then
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", xSharerUserId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(newItemDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(10L), Long.class))
+                .andExpect(jsonPath("$[1].name", is("Палатка")));
+
+        // verify
+        verify(itemService).addAll(newItemDtos, xSharerUserId);
+        verifyNoMoreInteractions(itemService);
+    }
+
     @Test
     void create_withRequestId_notFound_returns404() throws Exception {
         // given
@@ -215,6 +245,31 @@ class ItemControllerTest {
         verifyNoMoreInteractions(itemService);
     }
 
+    @Test
+    void suggest_returnsNames() throws Exception {
+        // given
+        Long xSharerUserId = 1L;
+        String prefix = "дре";
+        List<String> names = List.of("Дрель", "Дрель ударная");
+
+        when(itemService.suggestNames(prefix, 5))
+                .thenReturn(names);
+
+        // when/then
+        mockMvc.perform(get("/items/suggest")
+                        .header("X-Sharer-User-Id", xSharerUserId)
+                        .param("prefix", prefix)
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1]", is("Дрель ударная")));
+
+        // verify
+        verify(itemService)
+                .suggestNames(eq(prefix), eq(5));
+        verifyNoMoreInteractions(itemService);
+    }
+
     @Test
     void search_blankText_returnsEmpty_andNoServiceCall() throws Exception {
         // given
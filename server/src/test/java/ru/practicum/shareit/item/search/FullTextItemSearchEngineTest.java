@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/*
+    Требует запущенного PostgreSQL, например из docker-compose.yml:
+    mvn -pl server test -Dshareit.test.postgres.url=jdbc:postgresql://localhost:6541/shareit
+*/
+@EnabledIfSystemProperty(named = "shareit.test.postgres.url", matches = ".+")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.driverClassName=org.postgresql.Driver",
+                "spring.datasource.url=${shareit.test.postgres.url}",
+                "spring.datasource.username=${shareit.test.postgres.username:shareit}",
+                "spring.datasource.password=${shareit.test.postgres.password:shareit}",
+                "spring.sql.init.platform=postgresql",
+                "shareit.search.mode=fulltext"
+        }
+)
+class FullTextItemSearchEngineTest extends ItemSearchEngineContractTest {
+}
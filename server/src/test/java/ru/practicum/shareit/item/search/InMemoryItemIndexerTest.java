@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryItemIndexerTest {
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final InvertedIndexItemSearchEngine engine =
+            new InvertedIndexItemSearchEngine(itemRepository, mock(EntityManager.class));
+
+    private static Item item(Long id, String name, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(available);
+        return item;
+    }
+
+    @Test
+    void rebuild_replaysUpdatesCommittedWhileReadingSnapshot() {
+        // given: снимок прочитан до переименования вещи 1 и до снятия вещи 2 с доступа
+        when(itemRepository.streamAllByAvailableTrue()).thenAnswer(invocation -> {
+            engine.onItemSaved(item(1L, "Перфоратор", true));
+            engine.onItemSaved(item(2L, "Палатка", false));
+            return Stream.of(item(1L, "Дрель", true), item(2L, "Палатка", true));
+        });
+
+        // when
+        engine.rebuild();
+
+        // then
+        assertThat(engine.searchIds(engine.index(), "перфоратор"), contains(1L));
+        assertThat(engine.searchIds(engine.index(), "дрель"), empty());
+        assertThat(engine.searchIds(engine.index(), "палатка"), empty());
+    }
+
+    @Test
+    void onItemSaved_afterRebuild_updatesNewIndexOnly() {
+        // given
+        when(itemRepository.streamAllByAvailableTrue()).thenAnswer(invocation -> Stream.of(item(1L, "Дрель", true)));
+        engine.rebuild();
+
+        // when
+        engine.onItemSaved(item(3L, "Лодка", true));
+
+        // then
+        assertThat(engine.searchIds(engine.index(), "лодка"), contains(3L));
+        assertThat(engine.searchIds(engine.index(), "дрель"), contains(1L));
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+
+@ActiveProfiles("test")
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.search.mode=index"
+)
+class InvertedIndexItemSearchEngineIntegrationTest {
+
+    private final EntityManager entityManager;
+    private final ItemSearchEngine itemSearchEngine;
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.test");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Item item(Long ownerId, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(ownerId);
+        entityManager.persist(item);
+        return item;
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream()
+                .map(Item::getName)
+                .toList();
+    }
+
+    @Test
+    void search_ranksByRelevance_caseAndYoInsensitive() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Ёлка", "искусственная ёлка, ёлка на праздник", true);
+        item(owner.getId(), "Гирлянда", "для ЕЛКИ и окон", true);
+        item(owner.getId(), "Игрушка", "на елка-палка", true);
+        item(owner.getId(), "Старая ёлка", "осыпалась", false);
+        entityManager.flush();
+
+        // when
+        ((InvertedIndexItemSearchEngine) itemSearchEngine).rebuild();
+        List<Item> found = itemSearchEngine.search("ЁЛКА");
+
+        // then
+        assertThat(itemSearchEngine, instanceOf(InvertedIndexItemSearchEngine.class));
+        assertThat(names(found), contains("Ёлка", "Игрушка"));
+    }
+
+    @Test
+    void search_unknownWord_returnsEmpty() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Дрель", "ударная", true);
+        entityManager.flush();
+
+        // when
+        ((InvertedIndexItemSearchEngine) itemSearchEngine).rebuild();
+        List<Item> found = itemSearchEngine.search("перфоратор");
+
+        // then
+        assertThat(found, empty());
+    }
+
+    @Test
+    void search_multipleWords_documentWithMoreMatchesFirst() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Дрель", "ударная", true);
+        item(owner.getId(), "Дрель аккумуляторная", "лёгкая ударная", true);
+        item(owner.getId(), "Шуруповёрт", "аккумуляторный", true);
+        entityManager.flush();
+
+        // when
+        ((InvertedIndexItemSearchEngine) itemSearchEngine).rebuild();
+        List<Item> found = itemSearchEngine.search("дрель аккумуляторная");
+
+        // then
+        assertThat(names(found), contains("Дрель аккумуляторная", "Дрель"));
+    }
+}
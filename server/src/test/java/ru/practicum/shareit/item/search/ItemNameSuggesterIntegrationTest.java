@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemDto;
+import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.NewUserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+/*
+    Подсказки обновляются после фиксации транзакции, поэтому тест изменений не транзакционный
+    и сам удаляет свои данные
+*/
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemNameSuggesterIntegrationTest {
+
+    private final EntityManager entityManager;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+
+    @AfterEach
+    void cleanUp() {
+        if (ownerId != null) {
+            jdbcTemplate.update("delete from items where owner_id = ?", ownerId);
+            jdbcTemplate.update("delete from users where id = ?", ownerId);
+        }
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.test");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Item item(Long ownerId, String name, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("d");
+        item.setAvailable(available);
+        item.setOwner(ownerId);
+        entityManager.persist(item);
+        return item;
+    }
+
+    @Test
+    @Transactional
+    void suggest_returnsTopNAvailableNamesInOrder() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Дрель ударная", true);
+        item(owner.getId(), "Дрель", true);
+        item(owner.getId(), "дрель", true);
+        item(owner.getId(), "Дрезина", true);
+        item(owner.getId(), "Дрель сломанная", false);
+        item(owner.getId(), "Лестница", true);
+        entityManager.flush();
+        itemNameSuggester.rebuild();
+
+        // when/then
+        assertThat(itemNameSuggester.suggest("ДРЕ", 3), contains("Дрезина", "Дрель", "дрель"));
+        assertThat(itemNameSuggester.suggest("дрель ", 10), contains("Дрель ударная"));
+        assertThat(itemNameSuggester.suggest("пила", 10), empty());
+    }
+
+    @Test
+    void onItemSaved_updatesAndRemovesNamesAfterCommit() {
+        // given
+        ownerId = userService.add(new NewUserDto("suggest-owner", "suggest-owner@mail.test")).getId();
+        ItemDto item = itemService.add(new NewItemDto("Подсказка-ёлка", "d", true, null), ownerId);
+        assertThat(itemNameSuggester.suggest("подсказка-", 10), contains("Подсказка-ёлка"));
+
+        // when
+        itemService.save(item.getId(), new UpdateItemDto("Подсказка-ёлочка", null, null), ownerId);
+
+        // then
+        assertThat(itemNameSuggester.suggest("подсказка-", 10), contains("Подсказка-ёлочка"));
+
+        // when
+        itemService.save(item.getId(), new UpdateItemDto(null, null, false), ownerId);
+
+        // then
+        assertThat(itemNameSuggester.suggest("подсказка-", 10), empty());
+    }
+}
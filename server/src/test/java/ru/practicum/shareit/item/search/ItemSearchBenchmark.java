@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/*
+    Сравнение LIKE-запроса и инвертированного индекса на синтетическом корпусе. Поиск через движок включает
+    загрузку найденных вещей из БД, поэтому отдельно измеряется поиск идентификаторов в самом индексе.
+    Не входит в обычный прогон тестов, запуск: mvn -pl server test -Pbenchmark [-Dbenchmark.items=1000000]
+*/
+@Slf4j
+@ActiveProfiles("test")
+@DirtiesContext
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.search.mode=index"
+)
+class ItemSearchBenchmark {
+
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 1_000_000);
+    private static final int INSERT_BATCH = 10_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURE_ROUNDS = 10;
+
+    private static final String[] WORDS = {
+            "дрель", "перфоратор", "шуруповёрт", "лестница", "палатка", "велосипед", "самокат", "гитара",
+            "проектор", "пила", "молоток", "рюкзак", "спальник", "лодка", "удочка", "мангал", "чайник",
+            "drill", "ladder", "tent", "bike", "guitar", "projector", "saw", "hammer", "backpack", "kayak",
+            "мощная", "ударная", "лёгкая", "складная", "новая", "почти", "детская", "туристическая"
+    };
+    private static final List<String> QUERIES = List.of("дрель", "туристическая палатка", "kayak", "складная лестница");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine itemSearchEngine;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void likeVersusInvertedIndex() {
+        fillCorpus();
+
+        long buildStart = System.nanoTime();
+        ((InvertedIndexItemSearchEngine) itemSearchEngine).rebuild();
+        log.info("Построение индекса на {} вещах: {} мс", ITEMS, (System.nanoTime() - buildStart) / 1_000_000);
+
+        InvertedIndexItemSearchEngine indexEngine = (InvertedIndexItemSearchEngine) itemSearchEngine;
+        for (String query : QUERIES) {
+            double likeMs = measure(query, text -> itemRepository.search(text, text, true).size());
+            double lookupMs = measure(query, text -> indexEngine.searchIds(indexEngine.index(), text).size());
+            double indexMs = measure(query, text -> itemSearchEngine.search(text).size());
+            log.info("Запрос \"{}\": LIKE {} мс, поиск в индексе {} мс, индекс с загрузкой вещей {} мс, "
+                            + "найдено LIKE {} / индекс {}",
+                    query, String.format("%.2f", likeMs), String.format("%.2f", lookupMs), String.format("%.2f", indexMs),
+                    itemRepository.search(query, query, true).size(), itemSearchEngine.search(query).size());
+        }
+    }
+
+    private void fillCorpus() {
+        jdbcTemplate.update("insert into users (name, email) values ('owner', 'owner@benchmark.test')");
+        Long ownerId = jdbcTemplate.queryForObject("select id from users where email = 'owner@benchmark.test'", Long.class);
+
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < ITEMS; i++) {
+            batch.add(new Object[]{phrase(random, 2), phrase(random, 8), random.nextInt(10) > 0, ownerId});
+            if (batch.size() == INSERT_BATCH) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch);
+        }
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)", batch);
+    }
+
+    private static String phrase(Random random, int words) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                phrase.append(' ');
+            }
+            phrase.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return phrase.toString();
+    }
+
+    private static double measure(String query, Function<String, Integer> search) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            search.apply(query);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            search.apply(query);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURE_ROUNDS;
+    }
+}
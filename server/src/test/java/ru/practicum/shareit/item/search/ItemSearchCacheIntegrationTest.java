@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemDto;
+import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.NewUserDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Collection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/*
+    Кэш работает только вне пишущих транзакций, поэтому тест не транзакционный и сам удаляет свои данные
+*/
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemSearchCacheIntegrationTest {
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+
+    @AfterEach
+    void cleanUp() {
+        if (ownerId != null) {
+            jdbcTemplate.update("delete from items where owner_id = ?", ownerId);
+            jdbcTemplate.update("delete from users where id = ?", ownerId);
+        }
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", ItemSearchCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private Collection<ItemDto> search(String text) {
+        return itemService.searchAvailableItems(text);
+    }
+
+    @Test
+    void search_repeatedQuery_servedFromCache_andEvictedOnlyWhenResultsCanChange() {
+        // given
+        UserDto owner = userService.add(new NewUserDto("cache-owner", "cache-owner@mail.test"));
+        ownerId = owner.getId();
+        ItemDto drill = itemService.add(new NewItemDto("Кэш-дрель", "ударная", true, null), ownerId);
+        itemService.add(new NewItemDto("Кэш-лестница", "алюминиевая", true, null), ownerId);
+
+        assertThat(search("кэш-дрель"), hasSize(1));
+        assertThat(search("кэш-лестница"), hasSize(1));
+        double hits = gets("hit");
+        double misses = gets("miss");
+
+        // when: повтор в другом регистре
+        search("КЭШ-ДРЕЛЬ");
+
+        // then
+        assertThat(gets("hit"), is(hits + 1));
+
+        // when: изменение, не затрагивающее поиск, ничего не сбрасывает
+        itemService.save(drill.getId(), new UpdateItemDto(null, null, null), ownerId);
+        search("кэш-дрель");
+        search("кэш-лестница");
+
+        // then
+        assertThat(gets("hit"), is(hits + 3));
+
+        // when: новая подходящая вещь сбрасывает только «кэш-дрель»
+        itemService.add(new NewItemDto("Кэш-дрель аккумуляторная", "лёгкая", true, null), ownerId);
+
+        // then
+        assertThat(search("кэш-дрель"), hasSize(2));
+        assertThat(search("кэш-лестница"), hasSize(1));
+        assertThat(gets("miss"), is(misses + 1));
+
+        // when: вещь из выдачи стала недоступной
+        itemService.save(drill.getId(), new UpdateItemDto(null, null, false), ownerId);
+
+        // then
+        assertThat(search("кэш-дрель"), hasSize(1));
+        assertThat(search("кэш-лестница"), hasSize(1));
+        assertThat(gets("miss"), is(misses + 2));
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemSearchCacheTest {
+
+    private final ItemSearchEngine itemSearchEngine = mock(ItemSearchEngine.class);
+    private final ItemSearchCache cache =
+            new ItemSearchCache(itemSearchEngine, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+    private static Item item(Long id, String name) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(true);
+        return item;
+    }
+
+    @Test
+    void get_invalidatedWhileLoading_doesNotKeepStaleResult() {
+        // given
+        when(itemSearchEngine.cacheKey(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemSearchEngine.matches(anyString(), anyString(), anyString())).thenReturn(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when: вещь сохранена, пока поиск читал старую выдачу
+        cache.get("дрель", text -> {
+            loads.incrementAndGet();
+            cache.onItemSaved(item(1L, "Дрель"), true);
+            return List.of();
+        });
+        cache.get("дрель", text -> {
+            loads.incrementAndGet();
+            return List.of(new ItemDto(1L, "Дрель", "Дрель", true, List.of()));
+        });
+        cache.get("дрель", text -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // then: устаревший результат не закэширован, свежий - закэширован
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    void onItemsSaved_evictsEntriesOfAllItemsInOnePass() {
+        // given
+        when(itemSearchEngine.cacheKey(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemSearchEngine.matches(anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(1, String.class).toLowerCase()
+                        .contains(invocation.getArgument(0, String.class)));
+        AtomicInteger loads = new AtomicInteger();
+        for (String text : List.of("дрель", "пила", "лодка")) {
+            cache.get(text, key -> {
+                loads.incrementAndGet();
+                return List.of();
+            });
+        }
+
+        // when
+        cache.onItemsSaved(List.of(item(1L, "Дрель"), item(2L, "Пила")));
+        for (String text : List.of("дрель", "пила", "лодка")) {
+            cache.get(text, key -> {
+                loads.incrementAndGet();
+                return List.of();
+            });
+        }
+
+        // then: перезагружены только затронутые запросы
+        assertThat(loads.get(), is(5));
+    }
+
+    @Test
+    void get_wildcardQuery_matchedLiterallyByLikeEngine() {
+        // given: кэш поверх LIKE-движка, запрос с символами шаблона LIKE
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.search(anyString(), anyString(), eq(true))).thenReturn(List.of());
+        LikeItemSearchEngine likeEngine = new LikeItemSearchEngine(itemRepository);
+        ItemSearchCache likeCache =
+                new ItemSearchCache(likeEngine, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+        likeCache.get("50%_скидка", text -> {
+            loads.incrementAndGet();
+            likeEngine.search(text);
+            return List.of();
+        });
+
+        // when: сохранена вещь, которую шаблон нашёл бы, но буквальный поиск - нет
+        likeCache.onItemSaved(item(1L, "50 процентов скидка"), true);
+        likeCache.get("50%_скидка", text -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // then: выдача не сброшена, а в LIKE ушёл экранированный текст
+        assertThat(loads.get(), is(1));
+        verify(itemRepository).search("50\\%\\_скидка", "50\\%\\_скидка", true);
+
+        // when: сохранена вещь с буквальным вхождением запроса
+        likeCache.onItemSaved(item(2L, "Купон 50%_скидка"), true);
+        likeCache.get("50%_скидка", text -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // then: выдача перезагружена
+        assertThat(loads.get(), is(2));
+    }
+}
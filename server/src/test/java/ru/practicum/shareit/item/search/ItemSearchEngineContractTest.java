@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+/*
+    Общие требования ко всем движкам поиска, каждый движок подключает их своим наследником
+*/
+@ActiveProfiles("test")
+@Transactional
+abstract class ItemSearchEngineContractTest {
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @Autowired
+    protected ItemSearchEngine itemSearchEngine;
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.test");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void item(Long ownerId, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(ownerId);
+        entityManager.persist(item);
+    }
+
+    private List<String> search(String text) {
+        entityManager.flush();
+        return itemSearchEngine.search(text).stream()
+                .map(Item::getName)
+                .toList();
+    }
+
+    @Test
+    void search_matchesNameOrDescription_caseInsensitive() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Дрель", "ударная", true);
+        item(owner.getId(), "Чемодан", "ударопрочный, влезет даже ДРЕЛЬ", true);
+        item(owner.getId(), "Лестница", "алюминиевая", true);
+
+        // when
+        List<String> found = search("дрель");
+
+        // then
+        assertThat(found, containsInAnyOrder("Дрель", "Чемодан"));
+    }
+
+    @Test
+    void search_skipsUnavailableItems() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Палатка", "двухместная", true);
+        item(owner.getId(), "Палатка рваная", "двухместная", false);
+
+        // when
+        List<String> found = search("палатка");
+
+        // then
+        assertThat(found, containsInAnyOrder("Палатка"));
+    }
+
+    @Test
+    void search_englishWords() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Cordless drill", "with two batteries", true);
+        item(owner.getId(), "Ladder", "aluminium", true);
+
+        // when
+        List<String> found = search("DRILL");
+
+        // then
+        assertThat(found, containsInAnyOrder("Cordless drill"));
+    }
+
+    @Test
+    void search_unknownWord_returnsEmpty() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Дрель", "ударная", true);
+
+        // when
+        List<String> found = search("перфоратор");
+
+        // then
+        assertThat(found, empty());
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.search.mode=like"
+)
+class LikeItemSearchEngineTest extends ItemSearchEngineContractTest {
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+
+@ActiveProfiles("test")
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "shareit.search.mode=trigram",
+                "shareit.search.trigram.threshold=0.5",
+                "shareit.search.trigram.limit=3"
+        }
+)
+class TrigramIndexItemSearchEngineIntegrationTest {
+
+    private final EntityManager entityManager;
+    private final ItemSearchEngine itemSearchEngine;
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.test");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Item item(Long ownerId, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(ownerId);
+        entityManager.persist(item);
+        return item;
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream()
+                .map(Item::getName)
+                .toList();
+    }
+
+    private void rebuild() {
+        entityManager.flush();
+        ((InMemoryItemSearchEngine<?>) itemSearchEngine).rebuild();
+    }
+
+    @Test
+    void search_misspelledWord_findsClosestFirst() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Дрель", "ударная", true);
+        item(owner.getId(), "Набор свёрл", "для дрели", true);
+        item(owner.getId(), "Лестница", "алюминиевая", true);
+        item(owner.getId(), "Дрель старая", "сломана", false);
+        rebuild();
+
+        // when
+        List<Item> found = itemSearchEngine.search("дрелль");
+
+        // then
+        assertThat(itemSearchEngine, instanceOf(TrigramIndexItemSearchEngine.class));
+        assertThat(names(found), contains("Дрель", "Набор свёрл"));
+    }
+
+    @Test
+    void search_belowThreshold_returnsEmpty() {
+        // given
+        User owner = user("owner");
+        item(owner.getId(), "Лестница", "алюминиевая", true);
+        rebuild();
+
+        // when
+        List<Item> found = itemSearchEngine.search("дрель");
+
+        // then
+        assertThat(found, empty());
+    }
+
+    @Test
+    void search_returnsAtMostTopK() {
+        // given
+        User owner = user("owner");
+        for (int i = 0; i < 5; i++) {
+            item(owner.getId(), "Палатка " + i, "туристическая", true);
+        }
+        rebuild();
+
+        // when
+        List<Item> found = itemSearchEngine.search("палатк");
+
+        // then
+        assertThat(found, hasSize(3));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemDto;
+import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.dto.NewUserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Collection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/*
+    Кэш второго уровня наполняется при фиксации транзакций, поэтому тест не транзакционный
+    и сам удаляет свои данные
+*/
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemSecondLevelCacheIntegrationTest {
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+
+    @AfterEach
+    void cleanUp() {
+        if (ownerId != null) {
+            jdbcTemplate.update("delete from items where owner_id = ?", ownerId);
+            jdbcTemplate.update("delete from users where id = ?", ownerId);
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Collection<String> names(Collection<Item> items) {
+        return items.stream()
+                .map(Item::getName)
+                .toList();
+    }
+
+    @Test
+    void getItemOrThrow_repeatedCall_servedFromSecondLevelCache() {
+        // given
+        ownerId = userService.add(new NewUserDto("l2-owner", "l2-owner@mail.test")).getId();
+        ItemDto item = itemService.add(new NewItemDto("Дрель", "ударная", true, null), ownerId);
+        itemService.getItemOrThrow(item.getId());
+        Statistics statistics = statistics();
+
+        // when
+        statistics.clear();
+        Item cached = itemService.getItemOrThrow(item.getId());
+
+        // then
+        assertThat(cached.getName(), is("Дрель"));
+        assertThat(statistics.getPrepareStatementCount(), is(0L));
+        assertThat(statistics.getSecondLevelCacheHitCount(), greaterThan(0L));
+
+        // when
+        itemService.save(item.getId(), new UpdateItemDto("Дрель ударная", null, null), ownerId);
+
+        // then
+        assertThat(itemService.getItemOrThrow(item.getId()).getName(), is("Дрель ударная"));
+    }
+
+    @Test
+    void findAllByOwner_repeatedCall_servedFromQueryCache_untilItemsChange() {
+        // given
+        ownerId = userService.add(new NewUserDto("qc-owner", "qc-owner@mail.test")).getId();
+        ItemDto item = itemService.add(new NewItemDto("Палатка", "двухместная", true, null), ownerId);
+        itemRepository.findAllByOwner(ownerId);
+        Statistics statistics = statistics();
+
+        // when
+        statistics.clear();
+        Collection<Item> cached = itemRepository.findAllByOwner(ownerId);
+
+        // then
+        assertThat(names(cached), contains("Палатка"));
+        assertThat(statistics.getPrepareStatementCount(), is(0L));
+        assertThat(statistics.getQueryCacheHitCount(), is(1L));
+
+        // when
+        itemService.save(item.getId(), new UpdateItemDto("Палатка трёхместная", null, null), ownerId);
+
+        // then
+        assertThat(names(itemRepository.findAllByOwner(ownerId)), contains("Палатка трёхместная"));
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.item.service;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
@@ -20,6 +23,8 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -29,7 +34,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @ActiveProfiles("test")
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true"
+)
 class ItemServiceIntegrationTest {
 
     private final EntityManager entityManager;
@@ -113,6 +121,81 @@ class ItemServiceIntegrationTest {
         assertThat(itemRequestId, equalTo(itemRequest.getId()));
     }
 
+    @Test
+    void addAll_createsItemsInOrder_withRequestIds() {
+        // given
+        User requester = user("requester");
+        User owner = user("owner");
+        ItemRequest itemRequest = ItemRequest.builder()
+                .description("Нужна палатка")
+                .requestor(requester)
+                .created(LocalDateTime.now())
+                .build();
+        entityManager.persist(itemRequest);
+
+        // when
+        List<ItemDto> created = itemService.addAll(List.of(
+                new NewItemDto("Дрель", "Ударная", true, null),
+                new NewItemDto("Палатка", "Трёхместная", true, itemRequest.getId()),
+                new NewItemDto("Лестница", "Складная", false, null)
+        ), owner.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        assertThat(created, hasSize(3));
+        assertThat(created.stream().map(ItemDto::getName).toList(), contains("Дрель", "Палатка", "Лестница"));
+        assertThat(entityManager.find(Item.class, created.get(1).getId()).getRequest(), equalTo(itemRequest.getId()));
+
+        Item stored = entityManager.find(Item.class, created.get(2).getId());
+        assertThat(stored.getOwner(), equalTo(owner.getId()));
+        assertThat(stored.isAvailable(), is(false));
+    }
+
+    @Test
+    void addAll_unknownRequestId_throwsNotFound() {
+        // given
+        User owner = user("owner");
+        List<NewItemDto> newItemDtos = List.of(
+                new NewItemDto("Дрель", "Ударная", true, null),
+                new NewItemDto("Палатка", "Трёхместная", true, Long.MAX_VALUE)
+        );
+
+        // when / then
+        assertThrows(NotFoundException.class, () -> itemService.addAll(newItemDtos, owner.getId()));
+    }
+
+    @Test
+    void addAll_statementsCountDoesNotGrowWithItemsCount() {
+        // given
+        User ownerOfFew = user("ownerOfFew");
+        User ownerOfMany = user("ownerOfMany");
+
+        // when
+        long statementsForFewItems = countStatementsForAddAll(ownerOfFew, 2);
+        long statementsForManyItems = countStatementsForAddAll(ownerOfMany, 40);
+
+        // then
+        // вставки идут одним пакетом, разница возможна только в лишнем обращении к последовательности на границе блока
+        assertThat(statementsForManyItems, lessThanOrEqualTo(statementsForFewItems + 1));
+    }
+
+    private long countStatementsForAddAll(User owner, int itemsCount) {
+        List<NewItemDto> newItemDtos = new ArrayList<>();
+        for (int i = 0; i < itemsCount; i++) {
+            newItemDtos.add(new NewItemDto("Вещь " + i, "Описание " + i, true, null));
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        itemService.addAll(newItemDtos, owner.getId());
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
     @Test
     void findAllWithBookingsByOwnerId_populatesLastAndNextBookings() {
         // given
@@ -154,6 +237,74 @@ class ItemServiceIntegrationTest {
 
     }
 
+    @Test
+    void findAllWithBookingsByOwnerId_statementsCountDoesNotDependOnItemsCount() {
+        // given
+        User booker = user("booker");
+        User ownerOfFew = user("ownerOfFew");
+        User ownerOfMany = user("ownerOfMany");
+
+        // when
+        long statementsForFewItems = countStatementsForItemsOfOwner(ownerOfFew, booker, 2);
+        long statementsForManyItems = countStatementsForItemsOfOwner(ownerOfMany, booker, 20);
+
+        // then
+        assertThat(statementsForManyItems, equalTo(statementsForFewItems));
+    }
+
+    private long countStatementsForItemsOfOwner(User owner, User booker, int itemsCount) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < itemsCount; i++) {
+            Item item = item(owner.getId(), "I" + i, true);
+            booking(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+            booking(item, booker, now.minusDays(2).plusHours(i), now.minusDays(1), BookingStatus.APPROVED);
+            booking(item, booker, now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+            booking(item, booker, now.plusDays(1).plusHours(i), now.plusDays(2), BookingStatus.APPROVED);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<ItemWithBookingsDto> itemsWithBookingsDtos = (List<ItemWithBookingsDto>) itemService
+                .findAllWithBookingsByOwnerId(owner.getId());
+        long statementsCount = statistics.getPrepareStatementCount();
+
+        assertThat(itemsWithBookingsDtos, hasSize(itemsCount));
+        for (int i = 0; i < itemsCount; i++) {
+            ItemWithBookingsDto dto = itemsWithBookingsDtos.get(i);
+            assertThat(dto.getLastBooking().getStart(), equalTo(now.minusDays(2).plusHours(i)));
+            assertThat(dto.getNextBooking().getStart(), equalTo(now.plusDays(1).plusHours(i)));
+        }
+        return statementsCount;
+    }
+
+    @Test
+    void streamAllWithBookingsByOwnerId_returnsSameAsFindAll() {
+        // given
+        User owner = user("owner");
+        User booker = user("booker");
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Item first = item(owner.getId(), "first", true);
+        item(owner.getId(), "second", false);
+        booking(first, booker, now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED);
+        booking(first, booker, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+        entityManager.flush();
+
+        List<ItemWithBookingsDto> expected = List.copyOf(itemService.findAllWithBookingsByOwnerId(owner.getId()));
+
+        // when
+        List<ItemWithBookingsDto> streamed = new ArrayList<>();
+        itemService.streamAllWithBookingsByOwnerId(owner.getId(), streamed::add);
+
+        // then
+        assertThat(expected, hasSize(2));
+        assertThat(streamed, containsInAnyOrder(expected.toArray()));
+    }
+
     @Test
     void addComment_onlyAfterFinishedApprovedBooking() {
         // given
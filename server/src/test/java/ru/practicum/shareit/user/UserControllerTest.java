@@ -12,12 +12,21 @@ import ru.practicum.shareit.exception.DuplicateException;
 import ru.practicum.shareit.user.dto.NewUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserImportStatus;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.utils.NdjsonLine;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,6 +42,56 @@ public class UserControllerTest {
     @MockBean
     UserService userService;
 
+    @Test
+    void importUsers_ndjson_streamsResultPerLine() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            Stream<NdjsonLine<NewUserDto>> lines = invocation.getArgument(0);
+            Consumer<UserImportResultDto> action = invocation.getArgument(1);
+            lines.forEach(line -> action.accept(line.getError() == null
+                    ? new UserImportResultDto(line.getNumber(), UserImportStatus.CREATED, line.getNumber() * 10, null)
+                    : new UserImportResultDto(line.getNumber(), UserImportStatus.INVALID, null, line.getError())));
+            return null;
+        }).when(userService).importUsers(any(), any());
+
+        String body = String.join("\n",
+                "{\"name\": \"anna\", \"email\": \"anna@mail.com\"}",
+                "{broken",
+                "");
+
+        // when/then
+        String response = mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<UserImportResultDto> results = response.lines()
+                .map(line -> readValue(line, UserImportResultDto.class))
+                .toList();
+        assertThat(results, hasSize(2));
+        assertThat(results.getFirst().getStatus(), is(UserImportStatus.CREATED));
+        assertThat(results.getFirst().getId(), is(10L));
+        assertThat(results.get(1).getStatus(), is(UserImportStatus.INVALID));
+        assertThat(results.get(1).getLine(), is(2L));
+
+        // verify
+        verify(userService).importUsers(any(), any());
+        verifyNoMoreInteractions(userService);
+    }
+
+    private <T> T readValue(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Test
     void createUser_returnsDto() throws Exception {
         // given
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.NewUserDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*
+    Кэш наполняется только вне пишущих транзакций, поэтому тест не транзакционный и удаляет своего пользователя
+*/
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true"
+)
+class UserExistenceCacheIntegrationTest {
+
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private double hits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserExistenceCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    void existsByIdOrThrow_repeatedCheck_doesNotQueryDb_untilRemove() {
+        // given
+        UserDto user = userService.add(new NewUserDto("cached", "cached@mail.test"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userService.existsByIdOrThrow(user.getId());
+        double hits = hits();
+
+        // when
+        statistics.clear();
+        userService.existsByIdOrThrow(user.getId());
+        userService.existsByIdOrThrow(user.getId());
+
+        // then
+        assertThat(statistics.getPrepareStatementCount(), is(0L));
+        assertThat(hits(), is(hits + 2));
+
+        // when
+        userService.remove(user.getId());
+
+        // then
+        assertThrows(NotFoundException.class, () -> userService.existsByIdOrThrow(user.getId()));
+        assertThrows(NotFoundException.class, () -> userService.getUserOrThrow(user.getId()));
+    }
+
+    @Test
+    void existsByIdOrThrow_missingUser_negativeEntryIsCached() {
+        // given
+        Long missingId = Long.MAX_VALUE;
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThrows(NotFoundException.class, () -> userService.existsByIdOrThrow(missingId));
+
+        // when
+        statistics.clear();
+
+        // then
+        assertThrows(NotFoundException.class, () -> userService.existsByIdOrThrow(missingId));
+        assertThrows(NotFoundException.class, () -> userService.getUserOrThrow(missingId));
+        assertThat(statistics.getPrepareStatementCount(), is(0L));
+    }
+}
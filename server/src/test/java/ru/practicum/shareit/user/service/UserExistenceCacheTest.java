@@ -0,0 +1,42 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class UserExistenceCacheTest {
+
+    private final UserExistenceCache cache = new UserExistenceCache(new SimpleMeterRegistry(), 100,
+            Duration.ofMinutes(10), Duration.ofSeconds(30));
+
+    @Test
+    void exists_deleteCommittedWhileLoading_doesNotKeepStalePositive() {
+        // when: проверка прочитала пользователя до фиксации его удаления
+        boolean stale = cache.exists(1L, id -> {
+            cache.invalidate(id);
+            return true;
+        });
+
+        // then
+        assertThat(stale, is(true));
+        assertThat(cache.exists(1L, id -> false), is(false));
+        assertThat(cache.isKnownMissing(1L), is(true));
+    }
+
+    @Test
+    void put_readBeforeInvalidation_isDropped() {
+        // given
+        long stamp = cache.stamp(2L);
+        cache.invalidate(2L);
+
+        // when
+        cache.put(2L, stamp, true);
+
+        // then
+        assertThat(cache.exists(2L, id -> false), is(false));
+    }
+}
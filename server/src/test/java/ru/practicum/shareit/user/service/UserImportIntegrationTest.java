@@ -0,0 +1,120 @@
+package ru.practicum.shareit.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.user.dto.NewUserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserImportStatus;
+import ru.practicum.shareit.utils.NdjsonLine;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.utils.NdjsonUtils.readNdjson;
+
+/*
+    Порции импорта фиксируются отдельными транзакциями, поэтому тест не транзакционный и удаляет своих пользователей.
+    Размер порции маленький, чтобы дубликаты встречались и внутри порции, и между порциями
+*/
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.users.import.chunk-size=3"
+)
+class UserImportIntegrationTest {
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from users where email like '%@import.test'");
+    }
+
+    @Test
+    void importUsers_reportsEachLine_andCreatesOnlyValidUniqueUsers() {
+        // given
+        userService.add(new NewUserDto("existing", "existing@import.test"));
+        String ndjson = String.join("\n",
+                "{\"name\": \"anna\", \"email\": \"anna@import.test\"}",
+                "{\"name\": \"anna-again\", \"email\": \"anna@import.test\"}",
+                "not a json",
+                "",
+                "{\"name\": \"boris\", \"email\": \"existing@import.test\"}",
+                "{\"name\": \"\", \"email\": \"empty@import.test\"}",
+                "{\"name\": \"vera\", \"email\": \"vera@import.test\"}",
+                "{\"name\": \"anna-later\", \"email\": \"anna@import.test\"}",
+                "{\"name\": \"gleb\", \"email\": \"gleb\"}",
+                "");
+
+        // when
+        List<UserImportResultDto> results = new ArrayList<>();
+        try (Stream<NdjsonLine<NewUserDto>> lines = readNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), objectMapper, NewUserDto.class)) {
+            userService.importUsers(lines, results::add);
+        }
+
+        // then
+        assertThat(results.stream().map(UserImportResultDto::getLine).toList(), contains(1L, 2L, 3L, 5L, 6L, 7L, 8L, 9L));
+        assertThat(results.stream().map(UserImportResultDto::getStatus).toList(), contains(
+                UserImportStatus.CREATED,
+                UserImportStatus.DUPLICATE,
+                UserImportStatus.INVALID,
+                UserImportStatus.DUPLICATE,
+                UserImportStatus.INVALID,
+                UserImportStatus.CREATED,
+                UserImportStatus.DUPLICATE,
+                UserImportStatus.INVALID));
+        assertThat(results.getFirst().getId(), notNullValue());
+        assertThat(results.get(1).getError(), containsString("anna@import.test"));
+
+        List<String> emails = jdbcTemplate.queryForList(
+                "select email from users where email like '%@import.test' order by email", String.class);
+        assertThat(emails, contains("anna@import.test", "existing@import.test", "vera@import.test"));
+        assertThat(userService.find(results.get(5).getId()).getName(), is("vera"));
+    }
+
+    @Test
+    void importUsers_rejectsRowsTheDatabaseWouldRefuse_beforeInsert() {
+        // given
+        String ndjson = String.join("\n",
+                "{\"name\": \"dina\", \"email\": \"dina@import.test\"}",
+                "{\"name\": \"%s\", \"email\": \"long@import.test\"}",
+                "{\"name\": \"egor\", \"email\": \"egor@import@test\"}",
+                "{\"name\": \"zoya\", \"email\": \"zoya@import.test\"}",
+                "").formatted("я".repeat(256));
+
+        // when
+        List<UserImportResultDto> results = new ArrayList<>();
+        try (Stream<NdjsonLine<NewUserDto>> lines = readNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), objectMapper, NewUserDto.class)) {
+            userService.importUsers(lines, results::add);
+        }
+
+        // then
+        assertThat(results.stream().map(UserImportResultDto::getStatus).toList(), contains(
+                UserImportStatus.CREATED,
+                UserImportStatus.INVALID,
+                UserImportStatus.INVALID,
+                UserImportStatus.CREATED));
+        assertThat(results.get(1).getError(), containsString("255"));
+        assertThat(results.get(2).getError(), is("Некорректный e-mail"));
+
+        List<String> emails = jdbcTemplate.queryForList(
+                "select email from users where email like '%@import.test' order by email", String.class);
+        assertThat(emails, contains("dina@import.test", "zoya@import.test"));
+    }
+}
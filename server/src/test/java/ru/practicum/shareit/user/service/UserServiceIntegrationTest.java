@@ -14,6 +14,7 @@ import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -119,6 +120,20 @@ class UserServiceIntegrationTest {
         );
     }
 
+    @Test
+    void streamAll_returnsSameAsFindAll() {
+        // given
+        userService.add(new NewUserDto("alice", "alice@mail.com"));
+        userService.add(new NewUserDto("bob", "bob@mail.com"));
+
+        // when
+        List<UserDto> streamedUsersDtos = new ArrayList<>();
+        userService.streamAll(streamedUsersDtos::add);
+
+        // then
+        assertThat(streamedUsersDtos, containsInAnyOrder(userService.findAll().toArray()));
+    }
+
     @Test
     void find_returnsDto() {
         // given